@@ -0,0 +1,99 @@
+package rga.task.management.system.example.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@EnableAsync
+@EnableScheduling
+@Configuration
+public class AsyncConfig {
+
+    public static final String TASK_PURGE_EXECUTOR = "taskPurgeExecutor";
+    public static final String PASSWORD_VERIFICATION_EXECUTOR = "passwordVerificationExecutor";
+    public static final String TASK_EVENTS_EXECUTOR = "taskEventsExecutor";
+    public static final String AUTH_TOKENS_EXECUTOR = "authTokensExecutor";
+
+    /**
+     * Small bounded pool for purging large tasks in background, so that purges do not take
+     * more than a couple of database connections at a time
+     * @param poolSize - max number of concurrent purges
+     * @param queueCapacity - max number of purges waiting for their turn
+     * @return executor
+     */
+    @Bean(name = TASK_PURGE_EXECUTOR)
+    public ThreadPoolTaskExecutor taskPurgeExecutor(@Value("${tasks.purge.pool-size:2}") int poolSize,
+                                                    @Value("${tasks.purge.queue-capacity:100}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("task-purge-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for (CPU-heavy) password verification, so that login bursts do not take all request threads.
+     * When both pool and queue are full, new verifications are rejected at once
+     * (queue depth, active threads etc. are exposed as executor.* metrics with name=passwordVerificationExecutor)
+     * @param poolSize - number of concurrent verifications, number of processors by default
+     * @param queueCapacity - max number of verifications waiting for their turn
+     * @return executor
+     */
+    @Bean(name = PASSWORD_VERIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordVerificationExecutor(
+            @Value("${auth.password-verification.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${auth.password-verification.queue-capacity:100}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-verification-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool issuing tokens (and rehashing outdated password hashes) once password has been verified,
+     * so that database work does not hold password verification threads.
+     * When both pool and queue are full, new authentications are rejected at once
+     * @param poolSize - number of concurrently authenticated users, should not exceed database connection pool size
+     * @param queueCapacity - max number of verified users waiting for their tokens
+     * @return executor
+     */
+    @Bean(name = AUTH_TOKENS_EXECUTOR)
+    public ThreadPoolTaskExecutor authTokensExecutor(@Value("${auth.tokens.pool-size:4}") int poolSize,
+                                                     @Value("${auth.tokens.queue-capacity:100}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auth-tokens-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool writing task events to SSE subscribers: idle subscribers hold neither request nor pool threads,
+     * a subscriber is drained by at most one pool thread at a time
+     * @param poolSize - number of concurrently drained subscribers
+     * @param queueCapacity - max number of subscribers waiting to be drained
+     * @return executor
+     */
+    @Bean(name = TASK_EVENTS_EXECUTOR)
+    public ThreadPoolTaskExecutor taskEventsExecutor(@Value("${tasks.events.pool-size:4}") int poolSize,
+                                                     @Value("${tasks.events.queue-capacity:10000}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("task-events-");
+        executor.initialize();
+        return executor;
+    }
+
+}
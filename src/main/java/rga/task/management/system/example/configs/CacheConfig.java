@@ -0,0 +1,41 @@
+package rga.task.management.system.example.configs;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches are created and sized by spring.cache.* properties. Cache manager is wrapped to be transaction aware:
+ * puts and evictions made within a transaction (including one joined from a caller, e.g. user registration)
+ * are applied only after it has been committed and are discarded on rollback.
+ * Caching advice is ordered before the transactional one, so that results of transactional methods
+ * are cached after their own transaction has been committed
+ */
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+
+    /**
+     * Wrapping auto-configured cache manager into transaction aware proxy
+     * @return bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)
+                        ? new TransactionAwareCacheManagerProxy(cacheManager)
+                        : bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,19 @@
+package rga.task.management.system.example.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import rga.task.management.system.example.exceptions.DomainException;
+
+@Configuration
+public class ExceptionConfig {
+
+    /**
+     * Domain exceptions are thrown on routine paths and answered with proper HTTP status,
+     * so their stack traces are captured only when switched on for debugging
+     * @param stackTraceEnabled - whether stack traces of domain exceptions are captured
+     */
+    public ExceptionConfig(@Value("${exceptions.stack-trace.enabled:false}") boolean stackTraceEnabled) {
+        DomainException.setStackTraceEnabled(stackTraceEnabled);
+    }
+
+}
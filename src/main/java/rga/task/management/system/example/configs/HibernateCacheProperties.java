@@ -0,0 +1,23 @@
+package rga.task.management.system.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of Hibernate second-level cache regions
+ * @param regions - size and TTL of each region by its name
+ */
+@ConfigurationProperties(prefix = "hibernate-cache")
+public record HibernateCacheProperties(Map<String, Region> regions) {
+
+    /**
+     * Settings of particular region
+     * @param maximumSize - max number of entries in region
+     * @param expireAfterWrite - time to live of region entry
+     */
+    public record Region(long maximumSize, Duration expireAfterWrite) {
+    }
+
+}
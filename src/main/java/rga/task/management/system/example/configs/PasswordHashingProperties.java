@@ -0,0 +1,30 @@
+package rga.task.management.system.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of password hashing
+ * @param strength - target BCrypt cost, stored hashes of any other cost are rehashed on successful login
+ * @param calibration - choosing target cost by measured hash time at startup instead of fixed strength
+ */
+@ConfigurationProperties(prefix = "auth.password-hashing")
+public record PasswordHashingProperties(@DefaultValue("10") int strength,
+                                        @DefaultValue Calibration calibration) {
+
+    /**
+     * Settings of cost calibration
+     * @param enabled - whether calibration is on
+     * @param latencyBudget - max time of single hash
+     * @param minStrength - lowest cost to be chosen even if it exceeds the budget
+     * @param maxStrength - highest cost to be chosen even if budget allows more
+     */
+    public record Calibration(@DefaultValue("false") boolean enabled,
+                              @DefaultValue("100ms") Duration latencyBudget,
+                              @DefaultValue("10") int minStrength,
+                              @DefaultValue("14") int maxStrength) {
+    }
+
+}
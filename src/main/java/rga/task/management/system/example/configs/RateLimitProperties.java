@@ -0,0 +1,31 @@
+package rga.task.management.system.example.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of request rate limiting
+ * @param enabled - whether requests are limited
+ * @param idleTimeout - time after which unused bucket is evicted
+ * @param maximumBuckets - max number of buckets kept in memory
+ * @param groups - limits by endpoint group name, the first group whose pattern matches request path is applied
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10m") Duration idleTimeout,
+                                  @DefaultValue("100000") long maximumBuckets,
+                                  Map<String, Group> groups) {
+
+    /**
+     * Limits of endpoint group
+     * @param pattern - ant-style path pattern of group endpoints
+     * @param capacity - max burst of requests
+     * @param refillPerSecond - steady number of requests per second
+     */
+    public record Group(String pattern, long capacity, long refillPerSecond) {
+    }
+
+}
@@ -1,6 +1,9 @@
 package rga.task.management.system.example.configs;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,29 +12,56 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
+import rga.task.management.system.example.enums.Role;
+import rga.task.management.system.example.security.AdaptiveBCryptPasswordEncoder;
 import rga.task.management.system.example.security.JwtFilter;
+import rga.task.management.system.example.security.RateLimitFilter;
 
+import java.util.Map;
+
+@Slf4j
 @RequiredArgsConstructor
 @EnableWebSecurity
 @EnableMethodSecurity(securedEnabled = true)
 @Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class SecurityConfig {
 
     public static final String FIRST_SWAGGER_ENTRY_POINT = "/swagger-ui.html/**";
     public static final String SECOND_SWAGGER_ENTRY_POINT = "/swagger-ui/**";
     public static final String API_DOCS_ENTRY_POINT = "/v3/api-docs/**";
     public static final String SECURITY_ENTRY_POINT = "/rest/v1/security/**";
+    public static final String HEALTH_ENTRY_POINT = "/actuator/health/**";
+    public static final String ACTUATOR_ENTRY_POINT = "/actuator/**";
+    public static final String BCRYPT_ID = "bcrypt";
 
     private final JwtFilter filter;
+    private final RateLimitFilter rateLimitFilter;
 
+    /**
+     * Delegating password encoder: new hashes are BCrypt ones of target cost (fixed or calibrated),
+     * legacy hashes without {bcrypt} prefix are still matched, and any hash of other cost or without prefix
+     * is reported as outdated, so that it is rehashed on successful login
+     * @param properties - password hashing settings
+     * @return password encoder
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        var calibration = properties.calibration();
+        var strength = calibration.enabled()
+                ? AdaptiveBCryptPasswordEncoder.calibrateStrength(
+                        calibration.latencyBudget(), calibration.minStrength(), calibration.maxStrength())
+                : properties.strength();
+        log.info("BCrypt cost {} is used for password hashing", strength);
+        var bcrypt = new AdaptiveBCryptPasswordEncoder(strength);
+        var encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -51,15 +81,20 @@ public class SecurityConfig {
                 }))
                 .authorizeHttpRequests(
                         request -> request
+                                // async dispatch (e.g. completion of SSE stream) of already authorized request
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers(
                                         FIRST_SWAGGER_ENTRY_POINT,
                                         SECOND_SWAGGER_ENTRY_POINT,
                                         API_DOCS_ENTRY_POINT,
-                                        SECURITY_ENTRY_POINT
+                                        SECURITY_ENTRY_POINT,
+                                        HEALTH_ENTRY_POINT
                                 ).permitAll()
+                                .requestMatchers(ACTUATOR_ENTRY_POINT).hasAuthority(Role.ROLE_ADMIN.getValue())
                                 .anyRequest().authenticated()
                 )
                 .addFilterAfter(filter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtFilter.class)
                 .build();
     }
 
@@ -13,6 +13,7 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -44,7 +45,20 @@ public class CommentController extends PageableResponseHandler {
                             "<br>By default, data is sorted by timestamp:ASC",
                             schema = @Schema(type = "string"),
                             in = ParameterIn.QUERY,
-                            name = "sort")
+                            name = "sort"),
+                    @Parameter(description = "Cursor (keyset) pagination mode: pass an empty value for the first page " +
+                            "and then the value of X-Next-Cursor header for the next ones. " +
+                            "<br>In this mode data is always sorted by timestamp:ASC, page and sort are ignored " +
+                            "and totals are not counted",
+                            schema = @Schema(type = "string"),
+                            in = ParameterIn.QUERY,
+                            name = "cursor"),
+                    @Parameter(description = "Counting of total elements: true - exact count (by default), " +
+                            "false - no count at all (X-Total-* headers are replaced by X-Has-Next-Page), " +
+                            "approximate - totals are taken from maintained counters instead of COUNT query",
+                            schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}),
+                            in = ParameterIn.QUERY,
+                            name = "count")
             })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Comments have been got successfully",
@@ -57,9 +71,19 @@ public class CommentController extends PageableResponseHandler {
                                     schema = @Schema(type = "integer", format = "int32", example = "1")),
                             @Header(name = "X-Current-Page",
                                     description = "Current page",
-                                    schema = @Schema(type = "integer", format = "int32", example = "1"))},
+                                    schema = @Schema(type = "integer", format = "int32", example = "1")),
+                            @Header(name = "X-Has-Next-Page",
+                                    description = "Whether there is a next page (count=false mode only)",
+                                    schema = @Schema(type = "boolean")),
+                            @Header(name = "X-Next-Cursor",
+                                    description = "Cursor of the next page (cursor mode only, absent on the last page)",
+                                    schema = @Schema(type = "string")),
+                            @Header(name = HttpHeaders.ETAG,
+                                    description = "Current version of the task comments",
+                                    schema = @Schema(type = "string"))},
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             array = @ArraySchema(schema = @Schema(implementation = CommentDto.class)))),
+            @ApiResponse(responseCode = "304", description = "Comments have not been modified since If-None-Match version"),
             @ApiResponse(responseCode = "400", description = "Bad request",
                     content = @Content(mediaType = "application/json", schema =
                     @Schema(implementation = ResponseMessageDto.class))),
@@ -75,8 +99,20 @@ public class CommentController extends PageableResponseHandler {
     })
     @GetMapping("/task/{taskId}")
     public ResponseEntity<List<CommentDto>> getAllCommentsByTaskId(@PathVariable Long taskId,
-                                                                   @Parameter(hidden = true) @PageableDefault Pageable pageable) {
-        return pageableSuccessResponse(service.getPageByTaskId(taskId, convertPageable(pageable)));
+                                                                   @Parameter(hidden = true) @PageableDefault Pageable pageable,
+                                                                   @Parameter(hidden = true) @RequestParam(required = false) String cursor,
+                                                                   @Parameter(hidden = true) @RequestParam(required = false) String count,
+                                                                   @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        var eTag = String.valueOf(service.getVersionByTaskId(taskId));
+        if (isNotModified(headers, eTag, null)) {
+            return notModifiedResponse(eTag, null);
+        }
+        if (cursor != null) {
+            return withValidators(cursorSuccessResponse(service.getWindowByTaskId(taskId, convertCursor(cursor),
+                    convertPageable(pageable).getPageSize())), eTag, null);
+        }
+        return withValidators(pageableSuccessResponse(service.getPageByTaskId(taskId, convertPageable(pageable),
+                convertCountMode(count))), eTag, null);
     }
 
 
@@ -5,11 +5,10 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.coyote.BadRequestException;
-import org.springframework.context.MessageSource;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,51 +17,129 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import rga.task.management.system.example.dtos.ResponseMessageDto;
 import rga.task.management.system.example.exceptions.*;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Hidden
 @Slf4j
-@AllArgsConstructor
 @RestControllerAdvice
 public class ExceptionHandlerController {
 
-    private final MessageSource messageSource;
+    private final ErrorLogLimiter logLimiter;
+
+    public ExceptionHandlerController(@Value("${exceptions.log.max-per-second:10}") int maxLoggedPerSecond) {
+        this.logLimiter = new ErrorLogLimiter(maxLoggedPerSecond);
+    }
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseBody
     public ResponseEntity<ResponseMessageDto> handleNotFoundException(HttpServletRequest request, NotFoundException e) {
-        logError(e);
-        return new ResponseEntity<>(new ResponseMessageDto(request.getRequestURI(), e.getMessage()), HttpStatus.NOT_FOUND);
+        return respond(request, e, HttpStatus.NOT_FOUND);
     }
 
-    @ExceptionHandler({ExpiredJwtException.class, UnsupportedJwtException.class, MalformedJwtException.class})
+    @ExceptionHandler({ExpiredJwtException.class, UnsupportedJwtException.class, MalformedJwtException.class,
+            InvalidTokenException.class})
     @ResponseBody
     protected ResponseEntity<ResponseMessageDto> handleUnauthorizedException(HttpServletRequest request, RuntimeException e) {
-        logError(e);
-        return new ResponseEntity<>(new ResponseMessageDto(request.getRequestURI(), e.getMessage()), HttpStatus.UNAUTHORIZED);
+        return respond(request, e, HttpStatus.UNAUTHORIZED);
     }
     
     @ExceptionHandler({InvalidDataException.class, UserAlreadyExistentException.class, BadRequestException.class})
     @ResponseBody
     public ResponseEntity<ResponseMessageDto> handleBadRequest(HttpServletRequest request, RuntimeException e) {
-        logError(e);
-        return new ResponseEntity<>(new ResponseMessageDto(request.getRequestURI(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        return respond(request, e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(AccessForbiddenException.class)
     @ResponseBody
     protected ResponseEntity<ResponseMessageDto> handleAccessForbiddenException(HttpServletRequest request, AccessForbiddenException e) {
-        logError(e);
-        return new ResponseEntity<>(new ResponseMessageDto(request.getRequestURI(), e.getMessage()), HttpStatus.FORBIDDEN);
+        return respond(request, e, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    @ResponseBody
+    public ResponseEntity<ResponseMessageDto> handleConflictException(HttpServletRequest request, ConflictException e) {
+        return respond(request, e, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseBody
+    public ResponseEntity<ResponseMessageDto> handlePreconditionFailedException(HttpServletRequest request,
+                                                                               PreconditionFailedException e) {
+        return respond(request, e, HttpStatus.PRECONDITION_FAILED);
     }
 
     @ExceptionHandler(ServiceUnavailableException.class)
     @ResponseBody
     public ResponseEntity<ResponseMessageDto> handleServiceUnavailableException(HttpServletRequest request, ServiceUnavailableException e) {
-        logError(e);
-        return new ResponseEntity<>(new ResponseMessageDto(request.getRequestURI(), e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+        return respond(request, e, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
-    private void logError(RuntimeException e) {
-        log.error("Source:{}. Message:{}.", messageSource, ExceptionUtils.getMessage(e));
+    /**
+     * Answering with error message: the error is logged (asynchronously, see logback-spring.xml) with structured
+     * key-values, at most exceptions.log.max-per-second times per second for each exception type,
+     * the others are counted and reported with the next logged one
+     * @param request - failed request
+     * @param e - exception
+     * @param status - response status
+     * @return response with error message
+     */
+    private ResponseEntity<ResponseMessageDto> respond(HttpServletRequest request, RuntimeException e, HttpStatus status) {
+        var suppressed = logLimiter.tryAcquire(e.getClass());
+        if (suppressed >= 0) {
+            log.atLevel(status.is5xxServerError() ? Level.ERROR : Level.WARN)
+                    .addKeyValue("status", status.value())
+                    .addKeyValue("path", request.getRequestURI())
+                    .addKeyValue("exception", e.getClass().getSimpleName())
+                    .addKeyValue("suppressed", suppressed)
+                    .log("{} {} {}: {} ({} similar suppressed)", status.value(), request.getRequestURI(),
+                            e.getClass().getSimpleName(), e.getMessage(), suppressed);
+        }
+        return new ResponseEntity<>(new ResponseMessageDto(request.getRequestURI(), e.getMessage()), status);
     }
-    
+
+    /**
+     * Lock-free limiter of logged errors: fixed one second window per exception type
+     */
+    static final class ErrorLogLimiter {
+
+        private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final int maxPerSecond;
+        private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+        ErrorLogLimiter(int maxPerSecond) {
+            this.maxPerSecond = maxPerSecond;
+        }
+
+        private static final class Window {
+            private final AtomicLong startedAt = new AtomicLong(System.nanoTime());
+            private final AtomicInteger logged = new AtomicInteger();
+            private final AtomicLong suppressed = new AtomicLong();
+        }
+
+        /**
+         * Trying to log error of the given type
+         * @param type - exception type
+         * @return number of errors suppressed since the last logged one, or -1 if this one has to be suppressed
+         */
+        long tryAcquire(Class<?> type) {
+            var window = windows.computeIfAbsent(type, key -> new Window());
+            var now = System.nanoTime();
+            var startedAt = window.startedAt.get();
+            if (now - startedAt >= WINDOW_NANOS && window.startedAt.compareAndSet(startedAt, now)) {
+                window.logged.set(0);
+            }
+            if (window.logged.incrementAndGet() <= maxPerSecond) {
+                return window.suppressed.getAndSet(0);
+            }
+            window.suppressed.incrementAndGet();
+            return -1;
+        }
+
+    }
+
 }
@@ -1,23 +1,96 @@
 package rga.task.management.system.example.controllers;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import rga.task.management.system.example.enums.CountMode;
+import rga.task.management.system.example.exceptions.InvalidDataException;
+import rga.task.management.system.example.mappers.WindowMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 
 class PageableResponseHandler {
 
-    <T> ResponseEntity<List<T>> pageableSuccessResponse(Page<T> page) {
+    private static final String CURSOR_SEPARATOR = "|";
+
+    <T> ResponseEntity<List<T>> pageableSuccessResponse(Slice<T> slice) {
         return new ResponseEntity<>(
-                page.getContent(),
-                formHeaders(page),
+                slice.getContent(),
+                slice instanceof Page<T> page ? formHeaders(page) : formHeaders(slice),
                 HttpStatus.OK);
     }
 
+    <T> ResponseEntity<List<T>> cursorSuccessResponse(Window<T> window) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (window.hasNext()) {
+            responseHeaders.set("X-Next-Cursor", encodeCursor((KeysetScrollPosition) window.positionAt(window.size() - 1)));
+        }
+        return new ResponseEntity<>(
+                window.getContent(),
+                responseHeaders,
+                HttpStatus.OK);
+    }
+
+    /**
+     * Request is conditional if it has If-None-Match or If-Modified-Since header
+     * @param requestHeaders - request headers
+     * @return true / false
+     */
+    boolean isConditional(HttpHeaders requestHeaders) {
+        return !requestHeaders.getIfNoneMatch().isEmpty() || requestHeaders.getIfModifiedSince() >= 0;
+    }
+
+    /**
+     * Resource is not modified if If-None-Match lists its ETag (weak comparison) or "*",
+     * or (without If-None-Match) it has not been modified since If-Modified-Since
+     * @param requestHeaders - request headers
+     * @param eTag - current (unquoted) ETag of the resource
+     * @param lastModified - last modification time of the resource, may be null
+     * @return true / false
+     */
+    boolean isNotModified(HttpHeaders requestHeaders, String eTag, Timestamp lastModified) {
+        var ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || unquote(tag).equals(eTag));
+        }
+        var ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return lastModified != null && ifModifiedSince >= 0 && lastModified.getTime() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    <T> ResponseEntity<T> notModifiedResponse(String eTag, Timestamp lastModified) {
+        return withValidators(new ResponseEntity<>(HttpStatus.NOT_MODIFIED), eTag, lastModified);
+    }
+
+    /**
+     * Adding ETag and Last-Modified (if known) headers to response
+     * @param response - response
+     * @param eTag - (unquoted) ETag of the resource
+     * @param lastModified - last modification time of the resource, may be null
+     * @return response with validators
+     */
+    <T> ResponseEntity<T> withValidators(ResponseEntity<T> response, String eTag, Timestamp lastModified) {
+        var builder = ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(eTag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.getTime());
+        }
+        return builder.body(response.getBody());
+    }
+
+    private String unquote(String tag) {
+        var value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        return value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1) : value;
+    }
+
     Pageable convertPageable(Pageable pageable) {
         return PageRequest.of(
                 Math.max(pageable.getPageNumber(), 0),
@@ -26,6 +99,62 @@ class PageableResponseHandler {
         );
     }
 
+    /**
+     * Converting count query parameter: "true" (or absent) - exact COUNT query,
+     * "false" - no count query at all, "approximate" - totals are taken from counters where available
+     * @param count - query parameter value
+     * @return count mode or throws InvalidDataException
+     */
+    CountMode convertCountMode(String count) {
+        if (count == null || "true".equalsIgnoreCase(count)) {
+            return CountMode.EXACT;
+        } else if ("false".equalsIgnoreCase(count)) {
+            return CountMode.NONE;
+        } else if ("approximate".equalsIgnoreCase(count)) {
+            return CountMode.APPROXIMATE;
+        } else {
+            throw new InvalidDataException(HttpStatus.BAD_REQUEST,
+                    "Invalid count mode " + count + " has been provided");
+        }
+    }
+
+    /**
+     * Decoding opaque cursor got from X-Next-Cursor header, empty cursor means the first window
+     * @param cursor - base64url encoded "timestamp|id" of the last element of previous window
+     * @return keyset position or throws InvalidDataException
+     */
+    KeysetScrollPosition convertCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = decoded.lastIndexOf(CURSOR_SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("No separator in cursor");
+            }
+            return WindowMapper.positionOf(
+                    Timestamp.from(Instant.parse(decoded.substring(0, separatorIndex))),
+                    Long.valueOf(decoded.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidDataException(HttpStatus.BAD_REQUEST,
+                    "Invalid cursor " + cursor + " has been provided");
+        }
+    }
+
+    private String encodeCursor(KeysetScrollPosition position) {
+        var cursor = WindowMapper.timestampOf(position).toInstant() + CURSOR_SEPARATOR + WindowMapper.idOf(position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private <T> HttpHeaders formHeaders(Slice<T> slice) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.set("X-Has-Next-Page", String.valueOf(slice.hasNext()));
+        responseHeaders.set("X-Current-Page", String.valueOf(slice.getNumber() + 1));
+        return responseHeaders;
+    }
+
     private <T> HttpHeaders formHeaders(Page<T> page) {
         HttpHeaders responseHeaders = new HttpHeaders();
         responseHeaders.set("X-Total-Elements-Count", String.valueOf(page.getTotalElements()));
@@ -13,15 +13,22 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import rga.task.management.system.example.dtos.TaskAddOrUpdateDto;
+import rga.task.management.system.example.dtos.TaskBatchResultDto;
 import rga.task.management.system.example.dtos.ResponseMessageDto;
 import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.dtos.TaskEventDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchResultDto;
 import rga.task.management.system.example.enums.Status;
-import rga.task.management.system.example.mappers.impl.TaskMapper;
+import rga.task.management.system.example.exceptions.PreconditionFailedException;
+import rga.task.management.system.example.services.common.TaskEventService;
 import rga.task.management.system.example.services.common.TaskService;
 
 import java.util.List;
@@ -32,13 +39,38 @@ import java.util.List;
 public class TaskController extends PageableResponseHandler {
 
     private final TaskService service;
-    private final TaskMapper taskMapper;
+    private final TaskEventService eventService;
+
+    @Operation(summary = "Subscribe to task events", description = "Server-Sent Events stream of changes " +
+            "of tasks visible to current user (all tasks for admin, executed ones for user): " +
+            "TASK_CREATED, TASK_UPDATED, STATUS_CHANGED and COMMENT_ADDED events, " +
+            "TASK_UNASSIGNED event (with id of previous executor) when a task is reassigned to another executor. " +
+            "<br>Slow subscribers whose buffer overflows are disconnected and have to reconnect and reload tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed successfully",
+                    content = {@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = TaskEventDto.class)) }),
+            @ApiResponse(responseCode = "403", description = "Access is forbidden",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service unavailable",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class)))
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTaskEvents() {
+        return eventService.subscribe();
+    }
 
     @Operation(summary = "Get task by id", description = "Getting task by its id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task has been got successfully",
+                    headers = {@Header(name = HttpHeaders.ETAG, description = "Current version of the task"),
+                            @Header(name = HttpHeaders.LAST_MODIFIED, description = "Last modification time of the task")},
                     content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = TaskDto.class)) }),
+            @ApiResponse(responseCode = "304", description = "Task has not been modified since If-None-Match version " +
+                    "or If-Modified-Since time"),
             @ApiResponse(responseCode = "400", description = "Bad request",
                     content = @Content(mediaType = "application/json", schema =
                     @Schema(implementation = ResponseMessageDto.class))),
@@ -53,8 +85,16 @@ public class TaskController extends PageableResponseHandler {
                     @Schema(implementation = ResponseMessageDto.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDto> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(taskMapper.toDto(service.getById(id)));
+    public ResponseEntity<TaskDto> getTaskById(@PathVariable Long id,
+                                               @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        if (isConditional(headers)) {
+            var revision = service.getRevisionById(id);
+            var eTag = String.valueOf(revision.version());
+            if (isNotModified(headers, eTag, revision.modifiedAt())) {
+                return notModifiedResponse(eTag, revision.modifiedAt());
+            }
+        }
+        return withETag(service.getById(id));
     }
 
 
@@ -72,7 +112,20 @@ public class TaskController extends PageableResponseHandler {
                             "<br>By default, data is sorted by timestamp:ASC",
                             schema = @Schema(type = "string"),
                             in = ParameterIn.QUERY,
-                            name = "sort")
+                            name = "sort"),
+                    @Parameter(description = "Cursor (keyset) pagination mode: pass an empty value for the first page " +
+                            "and then the value of X-Next-Cursor header for the next ones. " +
+                            "<br>In this mode data is always sorted by timestamp:ASC, page and sort are ignored " +
+                            "and totals are not counted",
+                            schema = @Schema(type = "string"),
+                            in = ParameterIn.QUERY,
+                            name = "cursor"),
+                    @Parameter(description = "Counting of total elements: true - exact count (by default), " +
+                            "false - no count at all (X-Total-* headers are replaced by X-Has-Next-Page), " +
+                            "approximate - totals are taken from maintained counters instead of COUNT query",
+                            schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}),
+                            in = ParameterIn.QUERY,
+                            name = "count")
             })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks have been got successfully",
@@ -85,7 +138,13 @@ public class TaskController extends PageableResponseHandler {
                                     schema = @Schema(type = "integer", format = "int32", example = "1")),
                             @Header(name = "X-Current-Page",
                                     description = "Current page",
-                                    schema = @Schema(type = "integer", format = "int32", example = "1"))},
+                                    schema = @Schema(type = "integer", format = "int32", example = "1")),
+                            @Header(name = "X-Has-Next-Page",
+                                    description = "Whether there is a next page (count=false mode only)",
+                                    schema = @Schema(type = "boolean")),
+                            @Header(name = "X-Next-Cursor",
+                                    description = "Cursor of the next page (cursor mode only, absent on the last page)",
+                                    schema = @Schema(type = "string"))},
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             array = @ArraySchema(schema = @Schema(implementation = TaskDto.class)))),
             @ApiResponse(responseCode = "400", description = "Bad request",
@@ -103,8 +162,13 @@ public class TaskController extends PageableResponseHandler {
     })
     @GetMapping("/author/{authorId}")
     public ResponseEntity<List<TaskDto>> getAllTasksByAuthorId(@PathVariable Long authorId,
-                                                               @Parameter(hidden = true) @PageableDefault Pageable pageable) {
-        return pageableSuccessResponse(service.getByAuthorId(authorId, convertPageable(pageable)));
+                                                               @Parameter(hidden = true) @PageableDefault Pageable pageable,
+                                                               @Parameter(hidden = true) @RequestParam(required = false) String cursor,
+                                                               @Parameter(hidden = true) @RequestParam(required = false) String count) {
+        if (cursor != null) {
+            return cursorSuccessResponse(service.getByAuthorId(authorId, convertCursor(cursor), convertPageable(pageable).getPageSize()));
+        }
+        return pageableSuccessResponse(service.getByAuthorId(authorId, convertPageable(pageable), convertCountMode(count)));
     }
 
 
@@ -123,7 +187,20 @@ public class TaskController extends PageableResponseHandler {
                             "<br>By default, data is sorted by timestamp:ASC",
                             schema = @Schema(type = "string"),
                             in = ParameterIn.QUERY,
-                            name = "sort")
+                            name = "sort"),
+                    @Parameter(description = "Cursor (keyset) pagination mode: pass an empty value for the first page " +
+                            "and then the value of X-Next-Cursor header for the next ones. " +
+                            "<br>In this mode data is always sorted by timestamp:ASC, page and sort are ignored " +
+                            "and totals are not counted",
+                            schema = @Schema(type = "string"),
+                            in = ParameterIn.QUERY,
+                            name = "cursor"),
+                    @Parameter(description = "Counting of total elements: true - exact count (by default), " +
+                            "false - no count at all (X-Total-* headers are replaced by X-Has-Next-Page), " +
+                            "approximate - totals are taken from maintained counters instead of COUNT query",
+                            schema = @Schema(type = "string", allowableValues = {"true", "false", "approximate"}),
+                            in = ParameterIn.QUERY,
+                            name = "count")
             })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks have been got successfully",
@@ -136,7 +213,13 @@ public class TaskController extends PageableResponseHandler {
                                     schema = @Schema(type = "integer", format = "int32", example = "1")),
                             @Header(name = "X-Current-Page",
                                     description = "Current page",
-                                    schema = @Schema(type = "integer", format = "int32", example = "1"))},
+                                    schema = @Schema(type = "integer", format = "int32", example = "1")),
+                            @Header(name = "X-Has-Next-Page",
+                                    description = "Whether there is a next page (count=false mode only)",
+                                    schema = @Schema(type = "boolean")),
+                            @Header(name = "X-Next-Cursor",
+                                    description = "Cursor of the next page (cursor mode only, absent on the last page)",
+                                    schema = @Schema(type = "string"))},
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             array = @ArraySchema(schema = @Schema(implementation = TaskDto.class)))),
             @ApiResponse(responseCode = "400", description = "Bad request",
@@ -154,8 +237,13 @@ public class TaskController extends PageableResponseHandler {
     })
     @GetMapping("executor/{executorId}")
     public ResponseEntity<List<TaskDto>> getAllTasksByExecutorId(@PathVariable Long executorId,
-                                                                 @Parameter(hidden = true) @PageableDefault Pageable pageable) {
-        return pageableSuccessResponse(service.getByExecutorId(executorId, convertPageable(pageable)));
+                                                                 @Parameter(hidden = true) @PageableDefault Pageable pageable,
+                                                                 @Parameter(hidden = true) @RequestParam(required = false) String cursor,
+                                                                 @Parameter(hidden = true) @RequestParam(required = false) String count) {
+        if (cursor != null) {
+            return cursorSuccessResponse(service.getByExecutorId(executorId, convertCursor(cursor), convertPageable(pageable).getPageSize()));
+        }
+        return pageableSuccessResponse(service.getByExecutorId(executorId, convertPageable(pageable), convertCountMode(count)));
     }
 
 
@@ -182,6 +270,30 @@ public class TaskController extends PageableResponseHandler {
     }
 
 
+    @Operation(summary = "Task purge", description = "Deleting task with very large number of comments by its id in background. " +
+            "<br>Comments are deleted in chunks, the task itself is deleted after them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Task purge has been started successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "403", description = "Access is forbidden",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "404", description = "There is nothing found",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service unavailable or too many tasks are being purged",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class)))
+    })
+    @DeleteMapping("/{id}/purge")
+    public ResponseEntity<Void> purgeTaskById(@PathVariable Long id) {
+        service.purgeById(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+
     @Operation(summary = "Task creation", description = "Add new task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task has been added successfully",
@@ -206,9 +318,33 @@ public class TaskController extends PageableResponseHandler {
     }
 
 
+    @Operation(summary = "Batch task creation", description = "Add list of new tasks (up to 1000) in one transaction. " +
+            "<br>Invalid tasks are rejected while the valid ones are created: " +
+            "the result contains either created task or the rejection message for each item of the list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks have been processed successfully",
+                    content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = TaskBatchResultDto.class))) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "403", description = "Access is forbidden",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service unavailable",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class)))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDto>> addTasks(@RequestBody List<TaskAddOrUpdateDto> dtos){
+        return ResponseEntity.status(HttpStatus.OK).body(service.addAll(dtos));
+    }
+
+
     @Operation(summary = "Task updating", description = "Update the existent task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task has been updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the task"),
                     content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = TaskDto.class)) }),
             @ApiResponse(responseCode = "400", description = "Bad request",
@@ -220,18 +356,28 @@ public class TaskController extends PageableResponseHandler {
             @ApiResponse(responseCode = "404", description = "There is nothing found",
                     content = @Content(mediaType = "application/json", schema =
                     @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "409", description = "Task has been modified concurrently",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "412", description = "Task has been modified since If-Match version",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
             @ApiResponse(responseCode = "503", description = "Service unavailable",
                     content = @Content(mediaType = "application/json", schema =
                     @Schema(implementation = ResponseMessageDto.class)))
     })
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDto> updateTask(@PathVariable Long id, @Valid @RequestBody TaskAddOrUpdateDto dto){
-        return ResponseEntity.status(HttpStatus.OK).body(service.update(id, dto));
+    public ResponseEntity<TaskDto> updateTask(@PathVariable Long id, @Valid @RequestBody TaskAddOrUpdateDto dto,
+                                              @Parameter(description = "Task version (ETag) the update is based on")
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch){
+        return withETag(service.update(id, dto, parseVersion(ifMatch)));
     }
 
     @Operation(summary = "Task status updating", description = "Update status of the existent task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task status has been updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "New version of the task"),
                     content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = TaskDto.class)) }),
             @ApiResponse(responseCode = "400", description = "Bad request",
@@ -243,13 +389,76 @@ public class TaskController extends PageableResponseHandler {
             @ApiResponse(responseCode = "404", description = "There is nothing found",
                     content = @Content(mediaType = "application/json", schema =
                     @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "409", description = "Task has been modified concurrently",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "412", description = "Task has been modified since If-Match version",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
             @ApiResponse(responseCode = "503", description = "Service unavailable",
                     content = @Content(mediaType = "application/json", schema =
                     @Schema(implementation = ResponseMessageDto.class)))
     })
     @PutMapping("/{id}/status")
-    public ResponseEntity<TaskDto> updateTaskStatus(@PathVariable Long id, @Valid @RequestBody Status status){
-        return ResponseEntity.status(HttpStatus.OK).body(service.update(id, status));
+    public ResponseEntity<TaskDto> updateTaskStatus(@PathVariable Long id, @Valid @RequestBody Status status,
+                                                    @Parameter(description = "Task version (ETag) the update is based on")
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch){
+        return withETag(service.update(id, status, parseVersion(ifMatch)));
+    }
+
+    @Operation(summary = "Several tasks status updating", description = "Update status of several existent tasks at once. " +
+            "<br>Only tasks of current executor (or any tasks for admin) are updated, " +
+            "the others are reported as denied")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks status has been updated successfully",
+                    content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TaskStatusBatchResultDto.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "403", description = "Access is forbidden",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service unavailable",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class)))
+    })
+    @PutMapping("/status")
+    public ResponseEntity<TaskStatusBatchResultDto> updateTasksStatus(@RequestBody TaskStatusBatchDto dto){
+        return ResponseEntity.status(HttpStatus.OK).body(service.update(dto));
+    }
+
+    /**
+     * Answering with task, its version as ETag and its modification time as Last-Modified
+     * @param dto - task dto
+     * @return response with ETag and Last-Modified headers
+     */
+    private ResponseEntity<TaskDto> withETag(TaskDto dto) {
+        return withValidators(ResponseEntity.status(HttpStatus.OK).body(dto), String.valueOf(dto.getVersion()),
+                dto.getModifiedAt());
+    }
+
+    /**
+     * Parsing task version from If-Match header ("5", W/"5" or 5)
+     * @param ifMatch - header value
+     * @return version or null if header is absent or "*"
+     */
+    private Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var version = ifMatch.trim();
+        if (version.startsWith("W/")) {
+            version = version.substring(2);
+        }
+        version = version.replace("\"", "");
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(HttpStatus.PRECONDITION_FAILED,
+                    "If-Match " + ifMatch + " does not match the current task version");
+        }
     }
 
 }
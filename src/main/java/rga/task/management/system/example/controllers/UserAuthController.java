@@ -18,6 +18,8 @@ import org.springframework.web.bind.annotation.RestController;
 import rga.task.management.system.example.dtos.*;
 import rga.task.management.system.example.services.auth.UserAuthService;
 
+import java.util.concurrent.CompletableFuture;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/rest/v1/security")
@@ -45,8 +47,9 @@ public class UserAuthController {
                     @Schema(implementation = ResponseMessageDto.class)))
     })
     @PostMapping("/auth")
-    public ResponseEntity<UserAuthResponseDto> authenticate(@Valid @RequestBody final UserAuthRequestDto request) {
-        return ResponseEntity.status(HttpStatus.OK).body(service.authenticate(request));
+    public CompletableFuture<ResponseEntity<UserAuthResponseDto>> authenticate(@Valid @RequestBody final UserAuthRequestDto request) {
+        return service.authenticate(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK).body(response));
     }
 
     @Operation(summary = "User registration", description = "For user to get registered")
@@ -66,4 +69,21 @@ public class UserAuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.register(request));
     }
 
+    @Operation(summary = "JWT refresh", description = "For user to get new JWT by refresh token without password")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "JWT has just been refreshed successfully",
+                    content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserAuthResponseDto.class)) }),
+            @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class))),
+            @ApiResponse(responseCode = "503", description = "Service unavailable",
+                    content = @Content(mediaType = "application/json", schema =
+                    @Schema(implementation = ResponseMessageDto.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<UserAuthResponseDto> refresh(@Valid @RequestBody final RefreshTokenRequestDto request) {
+        return ResponseEntity.status(HttpStatus.OK).body(service.refresh(request));
+    }
+
 }
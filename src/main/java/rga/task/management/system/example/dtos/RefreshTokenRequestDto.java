@@ -0,0 +1,14 @@
+package rga.task.management.system.example.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequestDto {
+
+    private String refreshToken;
+
+}
@@ -0,0 +1,22 @@
+package rga.task.management.system.example.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TaskBatchResultDto {
+
+    @JsonProperty(value = "index")
+    private Integer index;
+
+    @JsonProperty(value = "task")
+    private TaskDto task;
+
+    @JsonProperty(value = "message")
+    private String message;
+
+}
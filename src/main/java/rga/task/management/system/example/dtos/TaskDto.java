@@ -29,4 +29,8 @@ public class TaskDto {
     private UserDto executor;
 
     private Timestamp timestamp;
+
+    private Timestamp modifiedAt;
+
+    private Long version;
 }
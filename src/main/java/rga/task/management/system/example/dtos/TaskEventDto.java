@@ -0,0 +1,30 @@
+package rga.task.management.system.example.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rga.task.management.system.example.enums.Status;
+import rga.task.management.system.example.enums.TaskEventType;
+
+/**
+ * Change of task or its comments: published by services and pushed (after commit) to subscribers
+ * who may see the task, i.e. to admins and task executor
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TaskEventDto {
+
+    private TaskEventType type;
+
+    private Long taskId;
+
+    private Long executorId;
+
+    private Status status;
+
+    private Long commentId;
+
+}
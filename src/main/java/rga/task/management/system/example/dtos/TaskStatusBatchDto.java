@@ -0,0 +1,24 @@
+package rga.task.management.system.example.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import rga.task.management.system.example.enums.Status;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TaskStatusBatchDto {
+
+    @JsonProperty(value = "ids")
+    private List<Long> ids;
+
+    @JsonProperty(value = "status")
+    private Status status;
+
+}
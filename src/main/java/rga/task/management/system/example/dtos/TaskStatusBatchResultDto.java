@@ -0,0 +1,21 @@
+package rga.task.management.system.example.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatusBatchResultDto {
+
+    @JsonProperty(value = "updated")
+    private List<Long> updated;
+
+    @JsonProperty(value = "denied")
+    private List<Long> denied;
+
+}
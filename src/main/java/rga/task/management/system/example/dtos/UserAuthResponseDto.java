@@ -11,4 +11,6 @@ public class UserAuthResponseDto {
 
     private String jwt;
 
+    private String refreshToken;
+
 }
@@ -2,6 +2,7 @@ package rga.task.management.system.example.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.sql.Timestamp;
 
@@ -11,7 +12,7 @@ import java.sql.Timestamp;
 public class Comment {
 
     @Id
-    @SequenceGenerator(name = "COMMENT_SEQUENCE", sequenceName = "COMMENT_SEQUENCE_ID", allocationSize = 1)
+    @SequenceGenerator(name = "COMMENT_SEQUENCE", sequenceName = "COMMENT_SEQUENCE_ID", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "COMMENT_SEQUENCE")
     @Column(name = "id")
     private Long id;
@@ -27,7 +28,8 @@ public class Comment {
     @JoinColumn(name = "commentator_id")
     private User commentator;
 
-    @Column(name = "timestamp")
+    @CreationTimestamp
+    @Column(name = "timestamp", nullable = false, updatable = false)
     private Timestamp timestamp;
 
 }
@@ -2,6 +2,12 @@ package rga.task.management.system.example.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import rga.task.management.system.example.configs.HibernateCacheConfig;
 import rga.task.management.system.example.enums.Priority;
 import rga.task.management.system.example.enums.Status;
 
@@ -16,10 +22,13 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "tasks")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TASKS_REGION)
 public class Task {
 
     @Id
-    @SequenceGenerator(name = "TASK_SEQUENCE", sequenceName = "TASK_SEQUENCE_ID", allocationSize = 1)
+    @SequenceGenerator(name = "TASK_SEQUENCE", sequenceName = "TASK_SEQUENCE_ID", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TASK_SEQUENCE")
     @Column(name = "id")
     private Long id;
@@ -52,7 +61,21 @@ public class Task {
     @JoinColumn(name = "executor_id")
     private User executor;
 
-    @Column(name = "timestamp")
+    @CreationTimestamp
+    @Column(name = "timestamp", nullable = false, updatable = false)
     private Timestamp timestamp;
 
+    @CreationTimestamp
+    @Column(name = "modified_at", nullable = false)
+    private Timestamp modifiedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Builder.Default
+    @OptimisticLock(excluded = true)
+    @Column(name = "comments_version", nullable = false)
+    private Long commentsVersion = 0L;
+
 }
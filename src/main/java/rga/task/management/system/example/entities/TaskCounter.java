@@ -0,0 +1,27 @@
+package rga.task.management.system.example.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "task_counters")
+public class TaskCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "authored_tasks", nullable = false)
+    private long authoredTasks;
+
+    @Column(name = "executed_tasks", nullable = false)
+    private long executedTasks;
+
+    public TaskCounter(Long userId) {
+        this.userId = userId;
+    }
+
+}
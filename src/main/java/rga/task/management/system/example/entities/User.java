@@ -3,6 +3,9 @@ package rga.task.management.system.example.entities;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import rga.task.management.system.example.configs.HibernateCacheConfig;
 import rga.task.management.system.example.enums.Role;
 
 @Getter
@@ -10,10 +13,12 @@ import rga.task.management.system.example.enums.Role;
 @Entity
 @NoArgsConstructor
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USERS_REGION)
 public class User {
 
     @Id
-    @SequenceGenerator(name = "USER_SEQUENCE", sequenceName = "USER_SEQUENCE_ID", allocationSize = 1)
+    @SequenceGenerator(name = "USER_SEQUENCE", sequenceName = "USER_SEQUENCE_ID", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "USER_SEQUENCE")
     @Column(name = "id")
     private Long id;
@@ -0,0 +1,9 @@
+package rga.task.management.system.example.enums;
+
+public enum CountMode {
+
+    EXACT,
+    NONE,
+    APPROXIMATE
+
+}
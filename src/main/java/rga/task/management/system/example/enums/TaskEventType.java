@@ -0,0 +1,11 @@
+package rga.task.management.system.example.enums;
+
+public enum TaskEventType {
+
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_UNASSIGNED,
+    STATUS_CHANGED,
+    COMMENT_ADDED
+
+}
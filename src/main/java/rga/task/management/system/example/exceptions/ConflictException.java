@@ -0,0 +1,11 @@
+package rga.task.management.system.example.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class ConflictException extends DomainException {
+
+    public ConflictException(HttpStatus errorHttpStatus, String errorMessage) {
+        super(errorHttpStatus, errorMessage);
+    }
+
+}
@@ -0,0 +1,32 @@
+package rga.task.management.system.example.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base of exceptions thrown on routine paths (not found, forbidden, invalid data etc.): they are answered
+ * with proper HTTP status, so stack trace is not captured unless it is switched on for debugging
+ */
+@Getter
+public abstract class DomainException extends RuntimeException {
+
+    private static volatile boolean stackTraceEnabled;
+
+    private final HttpStatus errorHttpStatus;
+    private final String messageCode;
+
+    protected DomainException(HttpStatus errorHttpStatus, String errorMessage) {
+        super(errorMessage, null, false, stackTraceEnabled);
+        this.errorHttpStatus = errorHttpStatus;
+        this.messageCode = errorMessage;
+    }
+
+    /**
+     * Switching stack trace capture of domain exceptions on or off
+     * @param enabled - true for debugging
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+}
@@ -0,0 +1,11 @@
+package rga.task.management.system.example.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidTokenException extends DomainException {
+
+    public InvalidTokenException(HttpStatus errorHttpStatus, String errorMessage) {
+        super(errorHttpStatus, errorMessage);
+    }
+
+}
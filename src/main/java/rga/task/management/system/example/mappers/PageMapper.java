@@ -1,9 +1,12 @@
 package rga.task.management.system.example.mappers;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface PageMapper<Entity, Dto> {
 
     Page<Dto> toDtosPage(Page<Entity> entities);
 
+    Slice<Dto> toDtosSlice(Slice<Entity> entities);
+
 }
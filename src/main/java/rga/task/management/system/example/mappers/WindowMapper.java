@@ -0,0 +1,36 @@
+package rga.task.management.system.example.mappers;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+public interface WindowMapper<Projection, Dto> {
+
+    String TIMESTAMP = "timestamp";
+    String ID = "id";
+
+    /**
+     * Mapping rows fetched by a seek query to a window of dtos
+     * @param projections - up to size + 1 rows, the extra one only signals that there is a next window
+     * @param size - requested window size
+     * @return window of dtos
+     */
+    Window<Dto> toDtosWindow(List<Projection> projections, int size);
+
+    static KeysetScrollPosition positionOf(Timestamp timestamp, Long id) {
+        return ScrollPosition.forward(Map.of(TIMESTAMP, timestamp, ID, id));
+    }
+
+    static Timestamp timestampOf(KeysetScrollPosition position) {
+        return position.isInitial() ? new Timestamp(0) : (Timestamp) position.getKeys().get(TIMESTAMP);
+    }
+
+    static Long idOf(KeysetScrollPosition position) {
+        return position.isInitial() ? 0L : (Long) position.getKeys().get(ID);
+    }
+
+}
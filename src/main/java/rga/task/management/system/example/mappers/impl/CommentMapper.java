@@ -1,20 +1,26 @@
 package rga.task.management.system.example.mappers.impl;
 
 import lombok.AllArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 import rga.task.management.system.example.dtos.CommentDto;
+import rga.task.management.system.example.dtos.UserDto;
 import rga.task.management.system.example.entities.Comment;
 import rga.task.management.system.example.mappers.Mapper;
 import rga.task.management.system.example.mappers.PageMapper;
+import rga.task.management.system.example.mappers.WindowMapper;
+import rga.task.management.system.example.projections.CommentProjection;
 import rga.task.management.system.example.services.common.UserService;
 
-import java.sql.Timestamp;
+import java.util.List;
 
 @Component
 @AllArgsConstructor
-public class CommentMapper implements Mapper<Comment, CommentDto, String>, PageMapper<Comment, CommentDto> {
+public class CommentMapper implements Mapper<Comment, CommentDto, String>, PageMapper<CommentProjection, CommentDto>,
+        WindowMapper<CommentProjection, CommentDto> {
 
     private final UserMapper userMapper;
     private final UserService userService;
@@ -24,8 +30,25 @@ public class CommentMapper implements Mapper<Comment, CommentDto, String>, PageM
         var dto = new CommentDto();
         dto.setId(comment.getId());
         dto.setContent(comment.getContent());
-        dto.setCommentator(userMapper.toDto(userService.getById(comment.getCommentator().getId())));
-        dto.setTimestamp(new Timestamp(System.currentTimeMillis()));
+        var commentator = comment.getCommentator();
+        // fetched commentator is mapped as is, not initialized proxy is resolved from users cache
+        dto.setCommentator(userMapper.toDto(Hibernate.isInitialized(commentator)
+                ? commentator : userService.getById(commentator.getId())));
+        dto.setTimestamp(comment.getTimestamp());
+        return dto;
+    }
+
+    /**
+     * Mapping comment projection to dto without any additional queries
+     * @param projection - comment row with its commentator
+     * @return CommentDto
+     */
+    public CommentDto toDto(CommentProjection projection) {
+        var dto = new CommentDto();
+        dto.setId(projection.id());
+        dto.setContent(projection.content());
+        dto.setCommentator(new UserDto(projection.commentatorId(), projection.commentatorEmail(), projection.commentatorRole()));
+        dto.setTimestamp(projection.timestamp());
         return dto;
     }
 
@@ -37,8 +60,22 @@ public class CommentMapper implements Mapper<Comment, CommentDto, String>, PageM
     }
 
     @Override
-    public Page<CommentDto> toDtosPage(Page<Comment> comments) {
-        return new PageImpl<>(comments.stream().map(this::toDto).toList());
+    public Page<CommentDto> toDtosPage(Page<CommentProjection> comments) {
+        return comments.map(this::toDto);
+    }
+
+    @Override
+    public Slice<CommentDto> toDtosSlice(Slice<CommentProjection> comments) {
+        return comments.map(this::toDto);
+    }
+
+    @Override
+    public Window<CommentDto> toDtosWindow(List<CommentProjection> comments, int size) {
+        return Window.from(
+                comments.stream().limit(size).map(this::toDto).toList(),
+                index -> WindowMapper.positionOf(comments.get(index).timestamp(), comments.get(index).id()),
+                comments.size() > size
+        );
     }
 
 }
@@ -1,22 +1,28 @@
 package rga.task.management.system.example.mappers.impl;
 
 import lombok.AllArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 import rga.task.management.system.example.dtos.TaskAddOrUpdateDto;
 import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.dtos.UserDto;
 import rga.task.management.system.example.entities.Task;
 import rga.task.management.system.example.entities.User;
 import rga.task.management.system.example.mappers.Mapper;
 import rga.task.management.system.example.mappers.PageMapper;
+import rga.task.management.system.example.mappers.WindowMapper;
+import rga.task.management.system.example.projections.TaskProjection;
 import rga.task.management.system.example.services.common.UserService;
 
-import java.sql.Timestamp;
+import java.util.List;
 
 @Component
 @AllArgsConstructor
-public class TaskMapper implements Mapper<Task, TaskDto, TaskAddOrUpdateDto>, PageMapper<Task, TaskDto> {
+public class TaskMapper implements Mapper<Task, TaskDto, TaskAddOrUpdateDto>, PageMapper<TaskProjection, TaskDto>,
+        WindowMapper<TaskProjection, TaskDto> {
 
     private UserMapper userMapper;
     private UserService userService;
@@ -29,9 +35,39 @@ public class TaskMapper implements Mapper<Task, TaskDto, TaskAddOrUpdateDto>, Pa
         dto.setDescription(task.getDescription());
         dto.setStatus(task.getStatus());
         dto.setPriority(task.getPriority());
-        dto.setAuthor(userMapper.toDto(userService.getById(task.getAuthor().getId())));
-        dto.setExecutor(userMapper.toDto(userService.getById(task.getExecutor().getId())));
-        dto.setTimestamp(new Timestamp(System.currentTimeMillis()));
+        dto.setAuthor(toUserDto(task.getAuthor()));
+        dto.setExecutor(toUserDto(task.getExecutor()));
+        dto.setTimestamp(task.getTimestamp());
+        dto.setModifiedAt(task.getModifiedAt());
+        dto.setVersion(task.getVersion());
+        return dto;
+    }
+
+    /**
+     * Mapping task's user: fetched user is mapped as is, not initialized proxy is resolved from users cache
+     * instead of being initialized with a query
+     * @param user - task's author or executor
+     * @return UserDto
+     */
+    private UserDto toUserDto(User user) {
+        return userMapper.toDto(Hibernate.isInitialized(user) ? user : userService.getById(user.getId()));
+    }
+
+    /**
+     * Mapping task projection to dto without any additional queries
+     * @param projection - task row with its author and executor
+     * @return TaskDto
+     */
+    public TaskDto toDto(TaskProjection projection) {
+        var dto = new TaskDto();
+        dto.setId(projection.id());
+        dto.setTitle(projection.title());
+        dto.setDescription(projection.description());
+        dto.setStatus(projection.status());
+        dto.setPriority(projection.priority());
+        dto.setAuthor(new UserDto(projection.authorId(), projection.authorEmail(), projection.authorRole()));
+        dto.setExecutor(new UserDto(projection.executorId(), projection.executorEmail(), projection.executorRole()));
+        dto.setTimestamp(projection.timestamp());
         return dto;
     }
 
@@ -49,8 +85,22 @@ public class TaskMapper implements Mapper<Task, TaskDto, TaskAddOrUpdateDto>, Pa
     }
 
     @Override
-    public Page<TaskDto> toDtosPage(Page<Task> tasks) {
-        return new PageImpl<>(tasks.stream().map(this::toDto).toList());
+    public Page<TaskDto> toDtosPage(Page<TaskProjection> tasks) {
+        return tasks.map(this::toDto);
+    }
+
+    @Override
+    public Slice<TaskDto> toDtosSlice(Slice<TaskProjection> tasks) {
+        return tasks.map(this::toDto);
+    }
+
+    @Override
+    public Window<TaskDto> toDtosWindow(List<TaskProjection> tasks, int size) {
+        return Window.from(
+                tasks.stream().limit(size).map(this::toDto).toList(),
+                index -> WindowMapper.positionOf(tasks.get(index).timestamp(), tasks.get(index).id()),
+                tasks.size() > size
+        );
     }
 
 }
@@ -0,0 +1,16 @@
+package rga.task.management.system.example.projections;
+
+import rga.task.management.system.example.enums.Role;
+
+import java.sql.Timestamp;
+
+/**
+ * Flat read-only row of comment with its commentator selected by a single query
+ */
+public record CommentProjection(Long id,
+                                String content,
+                                Long commentatorId,
+                                String commentatorEmail,
+                                Role commentatorRole,
+                                Timestamp timestamp) {
+}
@@ -0,0 +1,8 @@
+package rga.task.management.system.example.projections;
+
+/**
+ * Task id with id of its executor, selected without loading the task
+ */
+public record TaskAssignment(Long taskId,
+                             Long executorId) {
+}
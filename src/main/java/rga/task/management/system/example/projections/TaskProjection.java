@@ -0,0 +1,24 @@
+package rga.task.management.system.example.projections;
+
+import rga.task.management.system.example.enums.Priority;
+import rga.task.management.system.example.enums.Role;
+import rga.task.management.system.example.enums.Status;
+
+import java.sql.Timestamp;
+
+/**
+ * Flat read-only row of task with its author and executor selected by a single query
+ */
+public record TaskProjection(Long id,
+                             String title,
+                             String description,
+                             Status status,
+                             Priority priority,
+                             Long authorId,
+                             String authorEmail,
+                             Role authorRole,
+                             Long executorId,
+                             String executorEmail,
+                             Role executorRole,
+                             Timestamp timestamp) {
+}
@@ -0,0 +1,11 @@
+package rga.task.management.system.example.projections;
+
+import java.sql.Timestamp;
+
+/**
+ * Versions of task and its comments selected without loading the task itself, used for conditional requests
+ */
+public record TaskRevision(Long version,
+                           Long commentsVersion,
+                           Timestamp modifiedAt) {
+}
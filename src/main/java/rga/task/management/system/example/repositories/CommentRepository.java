@@ -1,17 +1,57 @@
 package rga.task.management.system.example.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rga.task.management.system.example.entities.Comment;
-import rga.task.management.system.example.entities.Task;
+import rga.task.management.system.example.projections.CommentProjection;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    Page<Comment> findAllByTaskOrderByTimestampAsc (Task task, Pageable pageable);
+    String SELECT_PROJECTION = "select new rga.task.management.system.example.projections.CommentProjection(" +
+            "c.id, c.content, u.id, u.email, u.role, c.timestamp) " +
+            "from Comment c left join c.commentator u ";
+
+    @Query(value = SELECT_PROJECTION + "where c.task.id = :taskId",
+            countQuery = "select count(c) from Comment c where c.task.id = :taskId")
+    Page<CommentProjection> findAllByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    @Query(SELECT_PROJECTION + "where c.task.id = :taskId")
+    Slice<CommentProjection> findSliceByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    @Query(SELECT_PROJECTION + "where c.task.id = :taskId " +
+            "and (c.timestamp, c.id) > (:timestamp, :id) " +
+            "order by c.timestamp asc, c.id asc")
+    List<CommentProjection> findAllByTaskIdAfter(@Param("taskId") Long taskId,
+                                                 @Param("timestamp") Timestamp timestamp,
+                                                 @Param("id") Long id,
+                                                 Limit limit);
+
+    @EntityGraph(attributePaths = "commentator")
+    Optional<Comment> findByIdAndCommentatorId(Long id, Long commentatorId);
+
+    @Query("select c.id from Comment c where c.task.id = :taskId")
+    List<Long> findIdsByTaskId(@Param("taskId") Long taskId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.task.id = :taskId")
+    int deleteAllByTaskId(@Param("taskId") Long taskId);
 
-    Page<Comment> findAllByTask (Task task, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
 
 }
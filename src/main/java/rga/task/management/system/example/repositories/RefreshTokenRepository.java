@@ -0,0 +1,27 @@
+package rga.task.management.system.example.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rga.task.management.system.example.entities.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Query("select r.userId from RefreshToken r where r.tokenHash = :tokenHash and r.expiresAt > :now")
+    Optional<Long> findUserIdByValidTokenHash(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash and r.expiresAt > :now")
+    int deleteValidByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId and r.expiresAt <= :now")
+    void deleteExpiredByUserId(@Param("userId") Long userId, @Param("now") Instant now);
+
+}
@@ -0,0 +1,44 @@
+package rga.task.management.system.example.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rga.task.management.system.example.entities.Task;
+import rga.task.management.system.example.entities.TaskCounter;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, Long> {
+
+    @Modifying
+    @Query("update TaskCounter c set c.authoredTasks = c.authoredTasks + :delta where c.userId = :userId")
+    void addAuthoredTasks(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update TaskCounter c set c.executedTasks = c.executedTasks + :delta where c.userId = :userId")
+    void addExecutedTasks(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("select c.authoredTasks from TaskCounter c where c.userId = :userId")
+    Optional<Long> findAuthoredTasksByUserId(@Param("userId") Long userId);
+
+    @Query("select c.executedTasks from TaskCounter c where c.userId = :userId")
+    Optional<Long> findExecutedTasksByUserId(@Param("userId") Long userId);
+
+    /**
+     * Keeping author's and executor's task counters in step with task creation or deletion
+     * @param task - created or deleted task
+     * @param delta - 1 for created task, -1 for deleted one
+     */
+    default void addTask(Task task, long delta) {
+        if (task.getAuthor() != null) {
+            addAuthoredTasks(task.getAuthor().getId(), delta);
+        }
+        if (task.getExecutor() != null) {
+            addExecutedTasks(task.getExecutor().getId(), delta);
+        }
+    }
+
+}
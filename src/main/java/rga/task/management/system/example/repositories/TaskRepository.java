@@ -1,21 +1,120 @@
 package rga.task.management.system.example.repositories;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rga.task.management.system.example.entities.Task;
-import rga.task.management.system.example.entities.User;
+import rga.task.management.system.example.enums.Status;
+import rga.task.management.system.example.projections.TaskAssignment;
+import rga.task.management.system.example.projections.TaskProjection;
+import rga.task.management.system.example.projections.TaskRevision;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    Page<Task> findAllByAuthorOrderByTimestampAsc(User author, Pageable pageable);
+    // users are joined as entities, so that "t.author.id" and "t.executor.id" filter by the foreign key columns
+    // of tasks (served by their indexes) instead of by the primary keys of the joined users
+    String SELECT_PROJECTION = "select new rga.task.management.system.example.projections.TaskProjection(" +
+            "t.id, t.title, t.description, t.status, t.priority, " +
+            "a.id, a.email, a.role, e.id, e.email, e.role, t.timestamp) " +
+            "from Task t left join User a on a.id = t.author.id left join User e on e.id = t.executor.id ";
+
+    // row value comparison lets the database range seek the (owner, timestamp, id) index
+    String AFTER_POSITION = "and (t.timestamp, t.id) > (:timestamp, :id) " +
+            "order by t.timestamp asc, t.id asc";
+
+    String ACCESSIBLE_TASKS = "t.id in :ids and (t.executor.id = :userId or :isAdmin = true)";
+
+    @Query(value = SELECT_PROJECTION + "where t.author.id = :authorId",
+            countQuery = "select count(t) from Task t where t.author.id = :authorId")
+    Page<TaskProjection> findAllByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(SELECT_PROJECTION + "where t.author.id = :authorId")
+    Slice<TaskProjection> findSliceByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SELECT_PROJECTION + "where t.executor.id = :executorId",
+            countQuery = "select count(t) from Task t where t.executor.id = :executorId")
+    Page<TaskProjection> findAllByExecutorId(@Param("executorId") Long executorId, Pageable pageable);
+
+    @Query(SELECT_PROJECTION + "where t.executor.id = :executorId")
+    Slice<TaskProjection> findSliceByExecutorId(@Param("executorId") Long executorId, Pageable pageable);
+
+    @Query(SELECT_PROJECTION + "where t.author.id = :authorId " + AFTER_POSITION)
+    List<TaskProjection> findAllByAuthorIdAfter(@Param("authorId") Long authorId,
+                                                @Param("timestamp") Timestamp timestamp,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(SELECT_PROJECTION + "where t.executor.id = :executorId " + AFTER_POSITION)
+    List<TaskProjection> findAllByExecutorIdAfter(@Param("executorId") Long executorId,
+                                                  @Param("timestamp") Timestamp timestamp,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    @EntityGraph(attributePaths = {"author", "executor"})
+    Optional<Task> findByIdAndExecutorId(Long id, Long executorId);
+
+    @Query("select new rga.task.management.system.example.projections.TaskRevision(" +
+            "t.version, t.commentsVersion, t.modifiedAt) " +
+            "from Task t where t.id = :id and (t.executor.id = :userId or :isAdmin = true)")
+    Optional<TaskRevision> findAccessibleRevisionById(@Param("id") Long id,
+                                                      @Param("userId") Long userId,
+                                                      @Param("isAdmin") boolean isAdmin);
+
+    @Query("select new rga.task.management.system.example.projections.TaskAssignment(t.id, t.executor.id) " +
+            "from Task t where t.id in :ids")
+    List<TaskAssignment> findAssignmentsByIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findLockedById(@Param("id") Long id);
+
+    @Query("select count(t) > 0 from Task t where t.id = :id and (t.executor.id = :userId or :isAdmin = true)")
+    boolean existsAccessibleById(@Param("id") Long id,
+                                 @Param("userId") Long userId,
+                                 @Param("isAdmin") boolean isAdmin);
 
-    Page<Task> findAllByAuthor(User author, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Task t where " + ACCESSIBLE_TASKS)
+    List<Long> lockAccessibleIds(@Param("ids") Collection<Long> ids,
+                                 @Param("userId") Long userId,
+                                 @Param("isAdmin") boolean isAdmin);
 
-    Page<Task> findAllByExecutorOrderByTimestampAsc(User executor, Pageable pageable);
+    /**
+     * Set-based status update. Being a bulk statement on a cached entity, it makes Hibernate evict
+     * the whole tasks second-level cache region after commit, not only the updated tasks.
+     * It is accepted for this (rare, admin or executor batch) operation, frequent single-task writes
+     * have to change managed entities instead
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, " +
+            "t.modifiedAt = current_timestamp where " + ACCESSIBLE_TASKS)
+    int updateStatusOfAccessible(@Param("ids") Collection<Long> ids,
+                                 @Param("userId") Long userId,
+                                 @Param("isAdmin") boolean isAdmin,
+                                 @Param("status") Status status);
 
-    Page<Task> findAllByExecutor(User executor, Pageable pageable);
+    /**
+     * Deleting task without cascading to its comments (they have to be deleted by bulk statements beforehand).
+     * Being a bulk statement on a cached entity, it makes Hibernate evict the whole tasks second-level cache
+     * region after commit, which is accepted for task deletion
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id = :id")
+    int deleteTaskById(@Param("id") Long id);
 
 }
@@ -0,0 +1,61 @@
+package rga.task.management.system.example.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that treats hash of any cost other than its own as outdated,
+ * so that hashes are upgraded as well as downgraded on successful login
+ */
+@Slf4j
+@Getter
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final String CALIBRATION_PASSWORD = "calibrationPassword";
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        var matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(2)) != strength;
+    }
+
+    /**
+     * Choosing the highest cost whose hash time fits in the latency budget on this machine
+     * @param latencyBudget - max time of single hash
+     * @param minStrength - lowest cost to be chosen even if it exceeds the budget
+     * @param maxStrength - highest cost to be chosen even if budget allows more
+     * @return calibrated cost
+     */
+    public static int calibrateStrength(Duration latencyBudget, int minStrength, int maxStrength) {
+        // warming up, so that the first measurement is not spoiled by class loading and JIT
+        new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD);
+        var strength = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            var startedAt = System.nanoTime();
+            new BCryptPasswordEncoder(cost).encode(CALIBRATION_PASSWORD);
+            var hashTime = Duration.ofNanos(System.nanoTime() - startedAt);
+            log.info("BCrypt cost {} takes {} ms", cost, hashTime.toMillis());
+            if (hashTime.compareTo(latencyBudget) > 0) {
+                break;
+            }
+            strength = cost;
+        }
+        return strength;
+    }
+
+}
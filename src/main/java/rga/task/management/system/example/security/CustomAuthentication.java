@@ -12,6 +12,7 @@ import java.util.List;
 @Builder
 public class CustomAuthentication implements Authentication {
 
+    private Long id;
     private String email;
     private String role;
     private boolean isAuthenticated;
@@ -1,7 +1,11 @@
 package rga.task.management.system.example.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -9,7 +13,10 @@ import rga.task.management.system.example.entities.User;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -21,9 +28,75 @@ public class JwtAccessProvider {
     @Value("${jwt.access.expirationTime}")
     private String expirationTime;
 
+    @Value("${jwt.access.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${jwt.access.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
     private static final String ROLE = "role";
     private static final String EMAIL = "email";
 
+    private SecretKey secretKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedJwt> verifiedJwts;
+
+    /**
+     * Immutable claims of verified token together with its expiration time. Only claims are cached:
+     * authentication is mutable, so a new one is built for every request
+     * @param id - user id (token subject)
+     * @param email - user e-mail
+     * @param role - user role
+     * @param expiresAtMillis - token expiration time
+     */
+    private record VerifiedJwt(Long id, String email, String role, long expiresAtMillis) {
+
+        private CustomAuthentication toAuthentication() {
+            return CustomAuthentication
+                    .builder()
+                    .id(id)
+                    .email(email)
+                    .role(role)
+                    .isAuthenticated(true)
+                    .build();
+        }
+    }
+
+    /**
+     * Building signing key, (immutable and thread-safe) parser and verified tokens cache only once
+     */
+    @PostConstruct
+    void init() {
+        secretKey = Keys.hmacShaKeyFor(accessSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        verifiedJwts = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaximumSize)
+                        .expireAfter(new Expiry<String, VerifiedJwt>() {
+                            @Override
+                            public long expireAfterCreate(String hash, VerifiedJwt verified, long currentTime) {
+                                return TimeUnit.MILLISECONDS.toNanos(
+                                        Math.max(0, verified.expiresAtMillis() - System.currentTimeMillis()));
+                            }
+
+                            @Override
+                            public long expireAfterUpdate(String hash, VerifiedJwt verified, long currentTime,
+                                                          long currentDuration) {
+                                return expireAfterCreate(hash, verified, currentTime);
+                            }
+
+                            @Override
+                            public long expireAfterRead(String hash, VerifiedJwt verified, long currentTime,
+                                                        long currentDuration) {
+                                return currentDuration;
+                            }
+                        })
+                        .build()
+                : null;
+    }
+
     public String buildAccessJwt(User user) {
         final long expirationTimeLong = Long.parseLong(expirationTime); // в секундах
         final Date creationDate = new Date();
@@ -35,15 +108,42 @@ public class JwtAccessProvider {
                 .claim(ROLE, user.getRole())
                 .issuedAt(creationDate)
                 .expiration(expirationDate)
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
-    public boolean validateJwt(String jwt) {
+    /**
+     * Getting authentication from JWT: token is parsed and verified once,
+     * then (if cache is enabled) its claims are taken from cache until token expiration.
+     * A new authentication is built on every call, so that requests never share it
+     * @param jwt - token
+     * @return authenticated principal or empty if token is not valid
+     */
+    public Optional<CustomAuthentication> getJwtAuthentication(String jwt) {
+        if (verifiedJwts == null) {
+            return verify(jwt).map(VerifiedJwt::toAuthentication);
+        }
+        var hash = hash(jwt);
+        var cached = verifiedJwts.getIfPresent(hash);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached.toAuthentication());
+        }
+        var verified = verify(jwt);
+        verified.ifPresent(value -> verifiedJwts.put(hash, value));
+        return verified.map(VerifiedJwt::toAuthentication);
+    }
+
+    /**
+     * Parsing and verifying token
+     * @param jwt - token
+     * @return verified token or empty if token is not valid
+     */
+    private Optional<VerifiedJwt> verify(String jwt) {
         try {
             var claims = getJwtClaims(jwt);
-            log.info("JWT expiration time: {}", claims.getExpiration());
-            return true;
+            log.debug("JWT expiration time: {}", claims.getExpiration());
+            return Optional.of(new VerifiedJwt(Long.valueOf(claims.getSubject()), claims.get(EMAIL, String.class),
+                    claims.get(ROLE, String.class), claims.getExpiration().getTime()));
         } catch (ExpiredJwtException e) {
             log.error("JWT expired exception: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -53,27 +153,27 @@ public class JwtAccessProvider {
         } catch (Exception e) {
             log.error("Invalid JWT exception: {}", e.getMessage());
         }
-        return false;
-    }
-
-    public CustomAuthentication getJwtAuthentication (Claims claims) {
-        return CustomAuthentication
-                .builder()
-                .email(claims.get("email", String.class))
-                .role(claims.get("role", String.class))
-                .build();
+        return Optional.empty();
     }
 
     public Claims getJwtClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
+        return parser
                 .parseSignedClaims(jwt)
                 .getPayload();
     }
 
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(accessSecret.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Hashing token for cache key, so that raw tokens are not kept in memory
+     * @param jwt - token
+     * @return SHA-256 of token
+     */
+    private String hash(String jwt) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
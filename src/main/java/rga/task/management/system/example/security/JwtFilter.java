@@ -1,24 +1,22 @@
 package rga.task.management.system.example.security;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
-import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class JwtFilter extends GenericFilterBean {
+public class JwtFilter extends OncePerRequestFilter {
 
     private static final String AUTHORIZATION = "Authorization";
     private static final String BEARER = "Bearer ";
@@ -32,22 +30,16 @@ public class JwtFilter extends GenericFilterBean {
     }
 
     @Override
-    public void doFilter(ServletRequest servletRequest,
-                         ServletResponse servletResponse,
-                         FilterChain filterChain) throws IOException, ServletException {
+    protected void doFilterInternal(HttpServletRequest servletRequest,
+                                    HttpServletResponse servletResponse,
+                                    FilterChain filterChain) throws IOException, ServletException {
 
-        final String jwt = extractJwtFromRequest((HttpServletRequest) servletRequest);
+        final String jwt = extractJwtFromRequest(servletRequest);
 
-        if (jwt != null && accessProvider.validateJwt(jwt)) {
-
-            final Claims jwtClaims = accessProvider.getJwtClaims(jwt);
-            final CustomAuthentication jwtAuth = accessProvider.getJwtAuthentication(jwtClaims);
-
-            jwtAuth.setAuthenticated(true);
-
-            SecurityContextHolder
+        if (jwt != null) {
+            accessProvider.getJwtAuthentication(jwt).ifPresent(jwtAuth -> SecurityContextHolder
                     .getContext()
-                    .setAuthentication(jwtAuth);
+                    .setAuthentication(jwtAuth));
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
@@ -0,0 +1,152 @@
+package rga.task.management.system.example.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import rga.task.management.system.example.configs.RateLimitProperties;
+import rga.task.management.system.example.configs.SecurityConfig;
+import rga.task.management.system.example.dtos.ResponseMessageDto;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket rate limiter: requests to security endpoints are limited by remote address,
+ * other authenticated requests by user id. Buckets are lock-free and kept in bounded cache,
+ * idle buckets are evicted. Rejections are counted (rate.limit.rejected metric tagged by group)
+ * and logged at debug level only, so that a burst of rejected requests does not flood the log
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String MESSAGE = "Too many requests. Please try again later";
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    /**
+     * Token bucket as GCRA: the only state is theoretical arrival time of the next request,
+     * so that a request takes a token with a single compare-and-set
+     */
+    static final class Bucket {
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final AtomicLong theoreticalArrivalTime;
+
+        Bucket(long capacity, long refillPerSecond) {
+            this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, refillPerSecond);
+            this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, capacity) - 1);
+            this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * Taking a token
+         * @param now - current time in nanos
+         * @return 0 if token is taken, otherwise nanos to wait for the next token
+         */
+        long tryConsume(long now) {
+            while (true) {
+                var current = theoreticalArrivalTime.get();
+                var arrival = Math.max(current, now);
+                var waitNanos = arrival - burstToleranceNanos - now;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrivalTime.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest servletRequest,
+                                    HttpServletResponse servletResponse,
+                                    FilterChain filterChain) throws IOException, ServletException {
+        var path = servletRequest.getRequestURI().substring(servletRequest.getContextPath().length());
+        var group = findGroup(path);
+        if (group != null) {
+            var groupName = group.getKey();
+            var limits = group.getValue();
+            var bucket = buckets.get(groupName + ":" + clientKey(servletRequest, path),
+                    key -> new Bucket(limits.capacity(), limits.refillPerSecond()));
+            var waitNanos = bucket.tryConsume(System.nanoTime());
+            if (waitNanos > 0) {
+                meterRegistry.counter("rate.limit.rejected", "group", groupName).increment();
+                reject(servletRequest, servletResponse, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || properties.groups() == null;
+    }
+
+    private Map.Entry<String, RateLimitProperties.Group> findGroup(String path) {
+        for (var group : properties.groups().entrySet()) {
+            if (pathMatcher.match(group.getValue().pattern(), path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Choosing bucket owner: remote address for security endpoints and anonymous requests, user id otherwise
+     */
+    private String clientKey(HttpServletRequest request, String path) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!pathMatcher.match(SecurityConfig.SECURITY_ENTRY_POINT, path)
+                && authentication instanceof CustomAuthentication customAuthentication
+                && customAuthentication.getId() != null) {
+            return "user:" + customAuthentication.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        var retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Request {} of {} has been rate limited", request.getRequestURI(), request.getRemoteAddr());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ResponseMessageDto(request.getRequestURI(), MESSAGE));
+    }
+
+}
@@ -1,8 +1,6 @@
 package rga.task.management.system.example.services.access;
 
 import org.springframework.security.core.GrantedAuthority;
-import rga.task.management.system.example.entities.Comment;
-import rga.task.management.system.example.entities.Task;
 
 import java.util.Collection;
 
@@ -12,12 +10,8 @@ public interface UserAccessService {
 
     boolean isRole(Collection<? extends GrantedAuthority> authorities, String role);
 
-    boolean isAdminOrTaskExecutor(Task task);
-
-    boolean isAdminOrCommentator(Comment comment);
-
-    boolean isCommentator(Comment comment);
-
     String getCurrentEmail();
 
+    Long getCurrentUserId();
+
 }
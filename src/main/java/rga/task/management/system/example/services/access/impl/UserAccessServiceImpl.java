@@ -4,8 +4,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import rga.task.management.system.example.entities.Comment;
-import rga.task.management.system.example.entities.Task;
 import rga.task.management.system.example.enums.Role;
 import rga.task.management.system.example.exceptions.AccessForbiddenException;
 import rga.task.management.system.example.security.CustomAuthentication;
@@ -43,48 +41,16 @@ public class UserAccessServiceImpl implements UserAccessService {
     }
 
     @Override
-    public boolean isAdminOrTaskExecutor(Task task) {
-        return getAuthenticatedUser()
-                .map(
-                        principal ->
-                                isRole(principal.getAuthorities(), Role.ROLE_ADMIN.getValue()) ||
-                                (task.getExecutor() != null && isTaskExecutor(task, principal))
-                )
-                .orElse(false);
-    }
-
-    @Override
-    public boolean isAdminOrCommentator(Comment comment) {
-        return getAuthenticatedUser()
-                .map(
-                        principal ->
-                                isRole(principal.getAuthorities(), Role.ROLE_ADMIN.getValue()) ||
-                                (comment.getCommentator() != null && isCommentator(comment))
-                )
-                .orElse(false);
-    }
-
-    private boolean isTaskExecutor(Task task, CustomAuthentication principal) {
-        return task.getExecutor().getEmail().equals(principal.getEmail());
-    }
-
-    private boolean isCommentAuthor(Comment comment, CustomAuthentication principal) {
-        return comment.getCommentator().getEmail().equals(principal.getEmail());
-    }
-
-    @Override
-    public boolean isCommentator(Comment comment) {
+    public String getCurrentEmail() {
         return getAuthenticatedUser()
-                .map(
-                        principal -> comment.getCommentator() != null && isCommentAuthor(comment, principal)
-                )
-                .orElse(false);
+                .map(CustomAuthentication::getEmail)
+                .orElseThrow(() -> new AccessForbiddenException(HttpStatus.FORBIDDEN, "Access denied. Please authenticate first."));
     }
 
     @Override
-    public String getCurrentEmail() {
+    public Long getCurrentUserId() {
         return getAuthenticatedUser()
-                .map(CustomAuthentication::getEmail)
+                .map(CustomAuthentication::getId)
                 .orElseThrow(() -> new AccessForbiddenException(HttpStatus.FORBIDDEN, "Access denied. Please authenticate first."));
     }
 
@@ -0,0 +1,9 @@
+package rga.task.management.system.example.services.auth;
+
+public interface RefreshTokenService {
+
+    String create(Long userId);
+
+    Long rotate(String refreshToken);
+
+}
@@ -1,12 +1,17 @@
 package rga.task.management.system.example.services.auth;
 
+import rga.task.management.system.example.dtos.RefreshTokenRequestDto;
 import rga.task.management.system.example.dtos.UserAuthRequestDto;
 import rga.task.management.system.example.dtos.UserAuthResponseDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface UserAuthService {
 
-    UserAuthResponseDto authenticate(UserAuthRequestDto userAuthRequestDto);
+    CompletableFuture<UserAuthResponseDto> authenticate(UserAuthRequestDto userAuthRequestDto);
 
     UserAuthResponseDto register(UserAuthRequestDto userAuthRequestDto);
 
+    UserAuthResponseDto refresh(RefreshTokenRequestDto refreshTokenRequestDto);
+
 }
@@ -0,0 +1,93 @@
+package rga.task.management.system.example.services.auth.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import rga.task.management.system.example.entities.RefreshToken;
+import rga.task.management.system.example.exceptions.InvalidTokenException;
+import rga.task.management.system.example.repositories.RefreshTokenRepository;
+import rga.task.management.system.example.services.auth.RefreshTokenService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@RequiredArgsConstructor
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository repository;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.refresh.expirationTime:2592000}")
+    private long expirationTime;
+
+    /**
+     * Issuing new refresh token: only its hash is stored, user's expired tokens are removed on the way
+     * @param userId - user's id
+     * @return raw refresh token (is shown to the client only once)
+     */
+    @Override
+    @Transactional
+    public String create(Long userId) {
+        var now = Instant.now();
+        repository.deleteExpiredByUserId(userId, now);
+        var bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        var refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        repository.save(new RefreshToken(hash(refreshToken), userId, now.plusSeconds(expirationTime)));
+        return refreshToken;
+    }
+
+    /**
+     * Consuming refresh token: it is looked up by its hash and deleted, so that it can be used only once
+     * (may throw InvalidTokenException if token is unknown, expired or has already been used)
+     * @param refreshToken - raw refresh token
+     * @return id of token's user
+     */
+    @Override
+    @Transactional
+    public Long rotate(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            throw invalidToken();
+        }
+        var now = Instant.now();
+        var tokenHash = hash(refreshToken);
+        var userId = repository.findUserIdByValidTokenHash(tokenHash, now)
+                .orElseThrow(this::invalidToken);
+        // the token can be used concurrently: only the request that has deleted it wins
+        if (repository.deleteValidByTokenHash(tokenHash, now) != 1) {
+            throw invalidToken();
+        }
+        return userId;
+    }
+
+    private InvalidTokenException invalidToken() {
+        return new InvalidTokenException(HttpStatus.UNAUTHORIZED,
+                "Invalid or expired refresh token has been provided");
+    }
+
+    /**
+     * Hashing refresh token for storage, so that raw tokens are not kept in the database
+     * @param refreshToken - raw refresh token
+     * @return SHA-256 of token in hex
+     */
+    private String hash(String refreshToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
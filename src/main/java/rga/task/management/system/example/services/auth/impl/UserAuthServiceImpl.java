@@ -1,39 +1,82 @@
 package rga.task.management.system.example.services.auth.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rga.task.management.system.example.dtos.RefreshTokenRequestDto;
 import rga.task.management.system.example.dtos.UserAuthRequestDto;
 import rga.task.management.system.example.dtos.UserAuthResponseDto;
+import rga.task.management.system.example.entities.User;
 import rga.task.management.system.example.exceptions.InvalidDataException;
+import rga.task.management.system.example.exceptions.ServiceUnavailableException;
 import rga.task.management.system.example.exceptions.UserAlreadyExistentException;
 import rga.task.management.system.example.security.JwtAccessProvider;
+import rga.task.management.system.example.services.auth.RefreshTokenService;
 import rga.task.management.system.example.services.common.UserService;
 import rga.task.management.system.example.services.auth.UserAuthService;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Slf4j
 @AllArgsConstructor
 @Service
 public class UserAuthServiceImpl implements UserAuthService {
 
     private final JwtAccessProvider provider;
     private final UserService service;
+    private final RefreshTokenService refreshTokenService;
     private final PasswordEncoder encoder;
+    private final ThreadPoolTaskExecutor passwordVerificationExecutor;
+    private final ThreadPoolTaskExecutor authTokensExecutor;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * User authentication: password is verified on the bounded password verification executor,
+     * not on request thread, then tokens are issued (and outdated password hash is rehashed)
+     * on the bounded auth tokens executor, so that database work does not hold password verification threads
+     * (may throw InvalidDataException, NotFoundException, ServiceUnavailableException if either executor is overloaded)
+     * @param dto - user's e-mail and password
+     * @return future with JWT and refresh token
+     */
     @Override
-    public UserAuthResponseDto authenticate(UserAuthRequestDto dto) {
+    public CompletableFuture<UserAuthResponseDto> authenticate(UserAuthRequestDto dto) {
         if (!service.validateEmail(dto.getEmail())) {
             throw new InvalidDataException(HttpStatus.BAD_REQUEST,
                     "Invalid e-mail " + dto.getEmail() + " has been provided");
         } else {
             var user = service.getByEmail(dto.getEmail());
-            if (encoder.matches(dto.getPassword(), user.getPassword())) {
-                return new UserAuthResponseDto(provider.buildAccessJwt(user));
-            } else {
-                throw new InvalidDataException(HttpStatus.BAD_REQUEST,
-                        "Invalid password " + dto.getPassword() + " has been provided");
+            CompletableFuture<Boolean> verification;
+            try {
+                verification = CompletableFuture.supplyAsync(() -> meterRegistry.timer("auth.password.verification")
+                        .record(() -> encoder.matches(dto.getPassword(), user.getPassword())), passwordVerificationExecutor);
+            } catch (TaskRejectedException e) {
+                meterRegistry.counter("auth.password.verification.rejected").increment();
+                throw new ServiceUnavailableException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many authentication requests. Please try again later");
             }
+            return verification
+                    .thenApply(passwordMatches -> {
+                        if (Boolean.TRUE.equals(passwordMatches)) {
+                            return user;
+                        } else {
+                            throw new InvalidDataException(HttpStatus.BAD_REQUEST,
+                                    "Invalid password " + dto.getPassword() + " has been provided");
+                        }
+                    })
+                    .thenApplyAsync(verifiedUser -> {
+                        if (encoder.upgradeEncoding(verifiedUser.getPassword())) {
+                            rehash(verifiedUser, dto.getPassword());
+                        }
+                        return issueTokens(verifiedUser);
+                    }, authTokensExecutor)
+                    .exceptionally(this::rejectedByAuthTokensExecutor);
         }
     }
 
@@ -52,10 +95,55 @@ public class UserAuthServiceImpl implements UserAuthService {
                 throw new InvalidDataException(HttpStatus.BAD_REQUEST,
                         "Invalid password " + dto.getPassword() + " has been provided");
             } else {
-                var user = service.create(dto);
-                return new UserAuthResponseDto(provider.buildAccessJwt(user));
+                var user = service.create(new UserAuthRequestDto(dto.getEmail(), encoder.encode(dto.getPassword())));
+                return issueTokens(user);
             }
         }
     }
 
+    /**
+     * Getting new JWT by refresh token without password verification: refresh token is rotated,
+     * so the used one is not valid anymore (may throw InvalidTokenException)
+     * @param dto - refresh token
+     * @return new JWT and new refresh token
+     */
+    @Override
+    @Transactional
+    public UserAuthResponseDto refresh(RefreshTokenRequestDto dto) {
+        var user = service.getById(refreshTokenService.rotate(dto.getRefreshToken()));
+        return issueTokens(user);
+    }
+
+    /**
+     * Rehashing password with target cost, failure of rehash does not fail authentication
+     * @param user - authenticated user
+     * @param password - verified raw password
+     */
+    private void rehash(User user, String password) {
+        try {
+            service.updatePassword(user, encoder.encode(password));
+            meterRegistry.counter("auth.password.rehashed").increment();
+        } catch (RuntimeException e) {
+            log.warn("Password of user {} has not been rehashed: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Answering with 503 if verified user could not be queued for tokens, other failures are passed as they are
+     * @param e - failure of authentication
+     * @return nothing, failure is always rethrown
+     */
+    private UserAuthResponseDto rejectedByAuthTokensExecutor(Throwable e) {
+        if (e.getCause() instanceof TaskRejectedException) {
+            meterRegistry.counter("auth.tokens.rejected").increment();
+            throw new ServiceUnavailableException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many authentication requests. Please try again later");
+        }
+        throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+    }
+
+    private UserAuthResponseDto issueTokens(User user) {
+        return new UserAuthResponseDto(provider.buildAccessJwt(user), refreshTokenService.create(user.getId()));
+    }
+
 }
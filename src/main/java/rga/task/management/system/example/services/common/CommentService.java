@@ -1,12 +1,19 @@
 package rga.task.management.system.example.services.common;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import rga.task.management.system.example.dtos.CommentDto;
+import rga.task.management.system.example.enums.CountMode;
 
 public interface CommentService {
 
-    Page<CommentDto> getPageByTaskId(Long taskId, Pageable pageable);
+    Long getVersionByTaskId(Long taskId);
+
+    Slice<CommentDto> getPageByTaskId(Long taskId, Pageable pageable, CountMode countMode);
+
+    Window<CommentDto> getWindowByTaskId(Long taskId, KeysetScrollPosition position, int size);
 
     void deleteById(Long commentId);
 
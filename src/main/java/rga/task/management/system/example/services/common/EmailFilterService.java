@@ -0,0 +1,11 @@
+package rga.task.management.system.example.services.common;
+
+public interface EmailFilterService {
+
+    boolean mightExist(String email);
+
+    void add(String email);
+
+    void rebuild();
+
+}
@@ -0,0 +1,14 @@
+package rga.task.management.system.example.services.common;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rga.task.management.system.example.dtos.TaskEventDto;
+
+public interface TaskEventService {
+
+    SseEmitter subscribe();
+
+    void broadcast(TaskEventDto event);
+
+    int getSubscribersCount();
+
+}
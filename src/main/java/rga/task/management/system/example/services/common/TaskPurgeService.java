@@ -0,0 +1,7 @@
+package rga.task.management.system.example.services.common;
+
+public interface TaskPurgeService {
+
+    void purge(Long taskId);
+
+}
@@ -1,26 +1,51 @@
 package rga.task.management.system.example.services.common;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import rga.task.management.system.example.dtos.TaskAddOrUpdateDto;
+import rga.task.management.system.example.dtos.TaskBatchResultDto;
 import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchResultDto;
 import rga.task.management.system.example.entities.Task;
+import rga.task.management.system.example.enums.CountMode;
 import rga.task.management.system.example.enums.Status;
+import rga.task.management.system.example.projections.TaskRevision;
+
+import java.util.List;
 
 public interface TaskService {
 
-    Task getById(Long id);
+    TaskDto getById(Long id);
+
+    Task getReferenceById(Long id);
+
+    TaskRevision getRevisionById(Long id);
+
+    void markCommentsModified(Long id);
+
+    Slice<TaskDto> getByAuthorId(Long authorId, Pageable pageable, CountMode countMode);
 
-    Page<TaskDto> getByAuthorId(Long authorId, Pageable pageable);
+    Window<TaskDto> getByAuthorId(Long authorId, KeysetScrollPosition position, int size);
 
-    Page<TaskDto> getByExecutorId(Long executorId, Pageable pageable);
+    Slice<TaskDto> getByExecutorId(Long executorId, Pageable pageable, CountMode countMode);
+
+    Window<TaskDto> getByExecutorId(Long executorId, KeysetScrollPosition position, int size);
 
     void deleteById(Long id);
 
+    void purgeById(Long id);
+
     TaskDto add(TaskAddOrUpdateDto dto);
 
-    TaskDto update(Long id, Status status);
+    List<TaskBatchResultDto> addAll(List<TaskAddOrUpdateDto> dtos);
+
+    TaskDto update(Long id, Status status, Long expectedVersion);
+
+    TaskStatusBatchResultDto update(TaskStatusBatchDto dto);
 
-    TaskDto update(Long id, TaskAddOrUpdateDto dto);
+    TaskDto update(Long id, TaskAddOrUpdateDto dto, Long expectedVersion);
 
 }
@@ -3,14 +3,23 @@ package rga.task.management.system.example.services.common;
 import rga.task.management.system.example.dtos.UserAuthRequestDto;
 import rga.task.management.system.example.entities.User;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface UserService {
 
     User getById(Long id);
 
     User getByEmail(String email);
 
+    User getReferenceById(Long id);
+
+    Map<String, User> getAllByEmails(Collection<String> emails);
+
     User create(UserAuthRequestDto dto);
 
+    void updatePassword(User user, String encodedPassword);
+
     boolean validateEmail(String email);
 
     boolean validatePassword(String password);
@@ -1,15 +1,25 @@
 package rga.task.management.system.example.services.common.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rga.task.management.system.example.dtos.CommentDto;
+import rga.task.management.system.example.dtos.TaskEventDto;
 import rga.task.management.system.example.entities.Comment;
+import rga.task.management.system.example.enums.CountMode;
+import rga.task.management.system.example.enums.TaskEventType;
 import rga.task.management.system.example.exceptions.AccessForbiddenException;
 import rga.task.management.system.example.exceptions.NotFoundException;
+import rga.task.management.system.example.mappers.WindowMapper;
 import rga.task.management.system.example.mappers.impl.CommentMapper;
 import rga.task.management.system.example.repositories.CommentRepository;
 import rga.task.management.system.example.services.common.CommentService;
@@ -21,52 +31,75 @@ import rga.task.management.system.example.services.common.UserService;
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "timestamp", "id");
+
     private final CommentRepository repository;
     private final CommentMapper mapper;
     private final UserService userService;
     private final TaskService taskService;
     private final UserAccessService userAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Finding comment by its id
-     * @param id of comment to be found
-     * @return comment or throws NotFoundException
+     * Getting comment by its id and author - for comment author only: access is resolved by the query itself
+     * @param id of comment to be got
+     * @param forbiddenMessage - message of AccessForbiddenException
+     * @return comment or throws NotFoundException, AccessForbiddenException
      */
-    private Comment findById(Long id) {
-        return repository.findById(id).orElseThrow(
-                () -> new NotFoundException(HttpStatus.NOT_FOUND,
-                        "Comment with id " + id + " is not found")
-        );
+    private Comment getOwnById(Long id, String forbiddenMessage) {
+        return repository.findByIdAndCommentatorId(id, userAccessService.getCurrentUserId()).orElseThrow(() -> {
+            if (!repository.existsById(id)) {
+                return new NotFoundException(HttpStatus.NOT_FOUND, "Comment with id " + id + " is not found");
+            } else {
+                return new AccessForbiddenException(HttpStatus.FORBIDDEN, forbiddenMessage);
+            }
+        });
     }
 
     /**
-     * Getting comment by its id - for admin or comment author
-     * @param id of comment to be got
-     * @return comment or throws AccessForbiddenException
+     * Getting version of task comments - for admin or task executor, comments themselves are not loaded
+     * @param taskId of comments
+     * @return comments version or throws NotFoundException, AccessForbiddenException
      */
-    private Comment getById(Long id) {
-        if (userAccessService.isAdminOrCommentator(findById(id))) {
-            return findById(id);
-        } else {
-            throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
-                    "Access denied. User does not have the required permissions to get this comment");
-        }
+    @Override
+    public Long getVersionByTaskId(Long taskId) {
+        return taskService.getRevisionById(taskId).commentsVersion();
     }
 
     /**
      * Getting comments' page by task id
      * @param taskId of comments to be got
      * @param pageable - interface for pagination
-     * @return comments' page
+     * @param countMode - how total elements of the page are counted (there are no comment counters,
+     *                  so APPROXIMATE is served as EXACT)
+     * @return comments' page (or slice if count mode is NONE)
      */
     @Override
-    public Page<CommentDto> getPageByTaskId(Long taskId, Pageable pageable) {
-        var task = taskService.getById(taskId);
-         if (pageable.getSort().isUnsorted()) {
-                return mapper.toDtosPage(repository.findAllByTaskOrderByTimestampAsc(task, pageable));
-            } else {
-                return mapper.toDtosPage(repository.findAllByTask(task, pageable));
-            }
+    public Slice<CommentDto> getPageByTaskId(Long taskId, Pageable pageable, CountMode countMode) {
+        var task = taskService.getReferenceById(taskId);
+        var sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSortOr(DEFAULT_SORT));
+        if (countMode == CountMode.NONE) {
+            return mapper.toDtosSlice(repository.findSliceByTaskId(task.getId(), sortedPageable));
+        } else {
+            return mapper.toDtosPage(repository.findAllByTaskId(task.getId(), sortedPageable));
+        }
+    }
+
+    /**
+     * Getting comments' window by task id after given position (keyset pagination)
+     * @param taskId of comments to be got
+     * @param position - position (timestamp, id) of the last comment of previous window
+     * @param size - window size
+     * @return comments' window
+     */
+    @Override
+    public Window<CommentDto> getWindowByTaskId(Long taskId, KeysetScrollPosition position, int size) {
+        var task = taskService.getReferenceById(taskId);
+        return mapper.toDtosWindow(
+                repository.findAllByTaskIdAfter(task.getId(),
+                        WindowMapper.timestampOf(position), WindowMapper.idOf(position), Limit.of(size + 1)),
+                size
+        );
     }
 
     /**
@@ -76,16 +109,16 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public void deleteById(Long commentId) {
-        if (userAccessService.isCommentator(findById(commentId))) {
-            repository.delete(findById(commentId));
-        } else {
-            throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
-                    "Access denied. This user cannot delete this comment because he/she is not the comment author.");
-        }
+        var comment = getOwnById(commentId,
+                "Access denied. This user cannot delete this comment because he/she is not the comment author.");
+        repository.delete(comment);
+        taskService.markCommentsModified(comment.getTask().getId());
     }
 
     /**
-     * Adding new comment to particular task - for admin or task executor
+     * Adding new comment to particular task - for admin or task executor.
+     * Comment is attached to the task by reference, so task comments are not loaded
+     * (the task itself is, for its executor to be notified after commit)
      * @param taskId - id of task to which comment has to be added
      * @param content - actual content of comment to be added
      * @return CommentDto
@@ -93,18 +126,20 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public CommentDto add(Long taskId, String content) {
-        var task = taskService.getById(taskId);
+        var task = taskService.getReferenceById(taskId);
 
         var comment = mapper.toEntity(content);
         comment.setContent(content);
-
         comment.setTask(task);
-        task.getComments().add(comment);
 
-        var commentator = userService.getByEmail(userAccessService.getCurrentEmail());
+        var commentator = userService.getReferenceById(userAccessService.getCurrentUserId());
         comment.setCommentator(commentator);
 
-        return mapper.toDto(repository.save(comment));
+        var saved = repository.save(comment);
+        taskService.markCommentsModified(taskId);
+        eventPublisher.publishEvent(new TaskEventDto(TaskEventType.COMMENT_ADDED, taskId,
+                task.getExecutor().getId(), null, saved.getId()));
+        return mapper.toDto(saved);
     }
 
     /**
@@ -116,15 +151,13 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public CommentDto update(String content, Long commentId) {
-        var comment = getById(commentId);
-        if (userAccessService.isCommentator(comment)) {
-            comment.setContent(content);
-            repository.save(comment);
-            return mapper.toDto(comment);
-        } else {
-            throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
-                    "Access denied. User does not have the required permissions to edit comment.");
-        }
+        var comment = getOwnById(commentId, userAccessService.isAdmin()
+                ? "Access denied. User does not have the required permissions to edit comment."
+                : "Access denied. User does not have the required permissions to get this comment");
+        comment.setContent(content);
+        repository.save(comment);
+        taskService.markCommentsModified(comment.getTask().getId());
+        return mapper.toDto(comment);
     }
 
 }
@@ -0,0 +1,142 @@
+package rga.task.management.system.example.services.common.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rga.task.management.system.example.repositories.UserRepository;
+import rga.task.management.system.example.services.common.EmailFilterService;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter of registered e-mails: "absent" answer is exact, so only probable hits go to database.
+ * Bits are only ever set, so concurrent additions need no locks, and the filter answers "might exist"
+ * to everything until it is built from users table
+ */
+@Slf4j
+@Service
+public class EmailFilterServiceImpl implements EmailFilterService {
+
+    private final UserRepository repository;
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong setBits = new AtomicLong();
+    private final AtomicLong additions = new AtomicLong();
+    private volatile boolean ready;
+
+    public EmailFilterServiceImpl(UserRepository repository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                  @Value("${users.email-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.repository = repository;
+        // optimal number of bits and hash functions for expected insertions and false positive probability
+        var optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE));
+        this.bitSize = (long) bits.length() * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+
+        Gauge.builder("users.email.filter.size", additions, AtomicLong::get)
+                .description("Number of e-mails added to the filter")
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.bits", this, filter -> filter.bitSize)
+                .description("Number of bits of the filter")
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.false.positive.rate", this, EmailFilterServiceImpl::falsePositiveRate)
+                .description("Estimated false positive probability by share of set bits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checking if e-mail might be registered
+     * @param email - e-mail to be checked
+     * @return false if e-mail is surely not registered, true if it might be (or filter is not built yet)
+     */
+    @Override
+    public boolean mightExist(String email) {
+        if (!ready) {
+            return true;
+        }
+        var hash1 = hash(email);
+        var hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            var index = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adding registered e-mail to the filter
+     * @param email - registered e-mail
+     */
+    @Override
+    public void add(String email) {
+        var hash1 = hash(email);
+        var hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            var index = Math.floorMod(hash1 + i * hash2, bitSize);
+            var word = (int) (index >>> 6);
+            var mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+            if ((current & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+        additions.incrementAndGet();
+    }
+
+    /**
+     * Building the filter by streaming all e-mails of users table, e-mails registered meanwhile are added as well
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try (var emails = repository.streamAllEmails()) {
+            emails.forEach(this::add);
+        }
+        ready = true;
+        log.info("E-mail filter has been built: {} e-mails, {} bits, {} hash functions",
+                additions.get(), bitSize, hashFunctions);
+    }
+
+    private double falsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitSize, hashFunctions);
+    }
+
+    private static long hash(String email) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < email.length(); i++) {
+            hash = 31 * hash + email.charAt(i);
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Murmur3 finalizer, so that close e-mails get far hashes
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
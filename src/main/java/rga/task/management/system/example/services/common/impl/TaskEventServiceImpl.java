@@ -0,0 +1,197 @@
+package rga.task.management.system.example.services.common.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rga.task.management.system.example.configs.AsyncConfig;
+import rga.task.management.system.example.dtos.TaskEventDto;
+import rga.task.management.system.example.services.access.UserAccessService;
+import rga.task.management.system.example.services.common.TaskEventService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking broadcaster of task events to SSE subscribers. Publishing only puts the event into bounded buffers
+ * of the subscribers who may see the task, the buffers are drained by a small pool. A subscriber whose buffer
+ * is full (slow consumer) or whose connection fails is dropped, so that it neither blocks nor slows down the others
+ */
+@Slf4j
+@Service
+public class TaskEventServiceImpl implements TaskEventService {
+
+    private final UserAccessService userAccessService;
+    private final TaskExecutor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Counter droppedSubscribers;
+
+    public TaskEventServiceImpl(UserAccessService userAccessService,
+                                @Qualifier(AsyncConfig.TASK_EVENTS_EXECUTOR) TaskExecutor executor,
+                                MeterRegistry meterRegistry,
+                                @Value("${tasks.events.buffer-size:64}") int bufferSize,
+                                @Value("${tasks.events.timeout:30m}") Duration timeout) {
+        this.userAccessService = userAccessService;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+
+        Gauge.builder("tasks.events.subscribers", subscribers, Set::size)
+                .description("Number of connected task events subscribers")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("tasks.events.subscribers.dropped")
+                .description("Number of subscribers dropped because of full buffer or failed connection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscriber with its own bounded buffer: it is drained by at most one pool thread at a time
+     * @param emitter - SSE connection
+     * @param userId - id of subscribed user
+     * @param isAdmin - whether subscribed user is admin (and sees all tasks)
+     * @param buffer - events waiting to be sent
+     * @param draining - whether a pool thread is draining the buffer
+     */
+    private record Subscriber(SseEmitter emitter, Long userId, boolean isAdmin,
+                              Queue<SseEmitter.SseEventBuilder> buffer, AtomicBoolean draining) {
+
+        private boolean maySee(TaskEventDto event) {
+            return isAdmin || Objects.equals(userId, event.getExecutorId());
+        }
+
+    }
+
+    /**
+     * Subscribing current user to events of tasks he/she may see (all tasks for admin, executed ones for user).
+     * The connection is held asynchronously, so an idle subscriber takes no thread
+     * @return SSE emitter
+     */
+    @Override
+    public SseEmitter subscribe() {
+        var subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), userAccessService.getCurrentUserId(),
+                userAccessService.isAdmin(), new ArrayBlockingQueue<>(bufferSize), new AtomicBoolean());
+        subscriber.emitter().onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter().onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter().onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // the first event commits response headers, so that the client knows it has been subscribed
+        offer(subscriber, SseEmitter.event().comment("subscribed"));
+        return subscriber.emitter();
+    }
+
+    /**
+     * Broadcasting task event once the transaction which has published it is committed
+     * @param event - task event
+     */
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void broadcast(TaskEventDto event) {
+        var id = String.valueOf(eventIds.incrementAndGet());
+        for (var subscriber : subscribers) {
+            if (subscriber.maySee(event)) {
+                offer(subscriber, SseEmitter.event()
+                        .id(id)
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * Sending heartbeat comments, so that idle connections are kept by proxies and closed ones are detected
+     */
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat-interval:25s}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> offer(subscriber, SseEmitter.event().comment("heartbeat")));
+    }
+
+    /**
+     * Closing all streams on shutdown (before the web server is stopped), so that graceful shutdown
+     * does not wait for them and clients reconnect to another instance
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscribers.forEach(subscriber -> {
+            subscribers.remove(subscriber);
+            subscriber.emitter().complete();
+        });
+    }
+
+    @Override
+    public int getSubscribersCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Putting event into subscriber's buffer without blocking, the subscriber is dropped if the buffer is full
+     * @param subscriber - subscriber
+     * @param event - event to be sent
+     */
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.buffer().offer(event)) {
+            drop(subscriber, "buffer is full");
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (TaskRejectedException e) {
+                subscriber.draining().set(false);
+                drop(subscriber, "sender pool is full");
+            }
+        }
+    }
+
+    /**
+     * Sending buffered events of subscriber until the buffer is empty
+     * @param subscriber - subscriber
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = subscriber.buffer().poll()) != null) {
+                    subscriber.emitter().send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(subscriber, e.getMessage());
+                return;
+            } finally {
+                subscriber.draining().set(false);
+            }
+            // an event may have been buffered after the last poll but before the flag has been reset
+        } while (!subscriber.buffer().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            droppedSubscribers.increment();
+            subscriber.buffer().clear();
+            log.debug("Task events subscriber {} has been dropped: {}", subscriber.userId(), reason);
+            subscriber.emitter().complete();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package rga.task.management.system.example.services.common.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import rga.task.management.system.example.configs.AsyncConfig;
+import rga.task.management.system.example.repositories.CommentRepository;
+import rga.task.management.system.example.repositories.TaskCounterRepository;
+import rga.task.management.system.example.repositories.TaskRepository;
+import rga.task.management.system.example.services.common.TaskPurgeService;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TaskPurgeServiceImpl implements TaskPurgeService {
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tasks.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Purging task in background (access has to be checked by caller): its comments are deleted in chunks,
+     * each one in its own short transaction, and then the task itself is deleted with its row locked,
+     * so that counters are decremented once even if the task is being deleted concurrently
+     * @param taskId - id of task to be purged
+     */
+    @Override
+    @Async(AsyncConfig.TASK_PURGE_EXECUTOR)
+    public void purge(Long taskId) {
+        try {
+            long deleted = 0;
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> {
+                    var ids = commentRepository.findIdsByTaskId(taskId, Limit.of(chunkSize));
+                    return ids.isEmpty() ? 0 : commentRepository.deleteAllByIds(ids);
+                });
+                deleted += chunk;
+            } while (chunk == chunkSize);
+
+            transactionTemplate.executeWithoutResult(status -> taskRepository.findLockedById(taskId).ifPresent(task -> {
+                commentRepository.deleteAllByTaskId(taskId);
+                if (taskRepository.deleteTaskById(taskId) == 1) {
+                    counterRepository.addTask(task, -1);
+                }
+            }));
+            log.info("Task with id {} has been purged together with its {} comments", taskId, deleted);
+        } catch (RuntimeException e) {
+            log.error("Purging of task with id {} has failed", taskId, e);
+        }
+    }
+
+}
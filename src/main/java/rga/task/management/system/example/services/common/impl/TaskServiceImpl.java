@@ -1,44 +1,152 @@
 package rga.task.management.system.example.services.common.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rga.task.management.system.example.dtos.TaskAddOrUpdateDto;
+import rga.task.management.system.example.dtos.TaskBatchResultDto;
 import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.dtos.TaskEventDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchResultDto;
 import rga.task.management.system.example.entities.Task;
+import rga.task.management.system.example.entities.User;
+import rga.task.management.system.example.enums.CountMode;
 import rga.task.management.system.example.enums.Status;
+import rga.task.management.system.example.enums.TaskEventType;
 import rga.task.management.system.example.exceptions.AccessForbiddenException;
+import rga.task.management.system.example.exceptions.ConflictException;
 import rga.task.management.system.example.exceptions.InvalidDataException;
 import rga.task.management.system.example.exceptions.NotFoundException;
+import rga.task.management.system.example.exceptions.PreconditionFailedException;
+import rga.task.management.system.example.exceptions.ServiceUnavailableException;
+import rga.task.management.system.example.mappers.WindowMapper;
 import rga.task.management.system.example.mappers.impl.TaskMapper;
+import rga.task.management.system.example.projections.TaskAssignment;
+import rga.task.management.system.example.projections.TaskRevision;
+import rga.task.management.system.example.repositories.CommentRepository;
+import rga.task.management.system.example.repositories.TaskCounterRepository;
 import rga.task.management.system.example.repositories.TaskRepository;
+import rga.task.management.system.example.services.common.TaskPurgeService;
 import rga.task.management.system.example.services.common.TaskService;
 import rga.task.management.system.example.services.access.UserAccessService;
 import rga.task.management.system.example.services.common.UserService;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "timestamp", "id");
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final TaskRepository repository;
+    private final CommentRepository commentRepository;
+    private final TaskCounterRepository counterRepository;
     private final TaskMapper taskMapper;
     private final UserService userService;
     private final UserAccessService userAccessService;
+    private final TaskPurgeService purgeService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Getting task by its id for admin or task executor, the task is mapped within transaction,
+     * so that the dto is complete without open session in view
+     * @param id of task to get
+     * @return - task dto or throws AccessForbiddenException, NotFoundException
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskDto getById(Long id) {
+        return taskMapper.toDto(getAccessibleTask(id));
+    }
+
+    /**
+     * Getting task by its id for admin or task executor: access is resolved by the query itself,
+     * the task is loaded only once (admin's one from second-level cache, executor's one with its users)
+     * @param id of task to get
+     * @return - task or throws AccessForbiddenException, NotFoundException
+     */
+    private Task getAccessibleTask(Long id) {
+        var task = userAccessService.isAdmin()
+                ? repository.findById(id)
+                : repository.findByIdAndExecutorId(id, userAccessService.getCurrentUserId());
+        return task.orElseThrow(() -> notFoundOrForbidden(id));
+    }
 
     /**
-     * Getting task by its id for admin or task executor
+     * Getting reference (not initialized proxy) to the task by its id for admin or task executor.
+     * Access is checked with an exists query, so neither the task nor its comments are loaded
      * @param id of task to get
-     * @return - task or throws AccessForbiddenException
+     * @return - task reference or throws AccessForbiddenException, NotFoundException
      */
     @Override
-    public Task getById(Long id) {
-        if (userAccessService.isAdminOrTaskExecutor(findTaskById(id))) {
-            return findTaskById(id);
+    public Task getReferenceById(Long id) {
+        var userId = userAccessService.getCurrentUserId();
+        if (repository.existsAccessibleById(id, userId, userAccessService.isAdmin())) {
+            return repository.getReferenceById(id);
         } else {
-            throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
+            throw notFoundOrForbidden(id);
+        }
+    }
+
+    /**
+     * Getting versions of task and its comments for admin or task executor by a single lightweight query,
+     * the task is not loaded, so conditional requests of unchanged task are answered cheaply
+     * @param id of task
+     * @return task revision or throws AccessForbiddenException, NotFoundException
+     */
+    @Override
+    public TaskRevision getRevisionById(Long id) {
+        return repository.findAccessibleRevisionById(id, userAccessService.getCurrentUserId(), userAccessService.isAdmin())
+                .orElseThrow(() -> notFoundOrForbidden(id));
+    }
+
+    /**
+     * Incrementing version of task comments (within the caller's transaction) when they are added, updated or deleted.
+     * The task row is locked, so that concurrent increments are not lost, and the managed task is changed,
+     * so that only its own entry of second-level cache is replaced after commit (a bulk update would evict the region).
+     * Comments version is excluded from optimistic locking and modification time is not touched,
+     * so commenting neither changes task ETag and Last-Modified nor conflicts with task updates
+     * @param id of task
+     */
+    @Override
+    public void markCommentsModified(Long id) {
+        var task = repository.findLockedById(id).orElseThrow(
+                () -> new NotFoundException(HttpStatus.NOT_FOUND, "Task with id " + id + " is not found")
+        );
+        task.setCommentsVersion(task.getCommentsVersion() + 1);
+    }
+
+    /**
+     * Telling absent task from inaccessible one (only when access has already been denied)
+     * @param id of task
+     * @return NotFoundException or AccessForbiddenException
+     */
+    private RuntimeException notFoundOrForbidden(Long id) {
+        if (!repository.existsById(id)) {
+            return new NotFoundException(HttpStatus.NOT_FOUND, "Task with id " + id + " is not found");
+        } else {
+            return new AccessForbiddenException(HttpStatus.FORBIDDEN,
                     "Access denied. User does not have the required permissions to get this task");
         }
     }
@@ -59,17 +167,48 @@ public class TaskServiceImpl implements TaskService {
      * Getting page with tasks by author id - for admin
      * @param authorId - id of author this page of tasks
      * @param pageable - interface for pagination
-     * @return page of tasks dto or throws AccessForbiddenException
+     * @param countMode - how total elements of the page are counted
+     * @return page (or slice if count mode is NONE) of tasks dto or throws AccessForbiddenException
+     */
+    @Override
+    public Slice<TaskDto> getByAuthorId(Long authorId, Pageable pageable, CountMode countMode) {
+        var author = getAccessibleAuthor(authorId);
+        var sortedPageable = withDefaultSort(pageable);
+        return switch (countMode) {
+            case EXACT -> taskMapper.toDtosPage(repository.findAllByAuthorId(author.getId(), sortedPageable));
+            case NONE -> taskMapper.toDtosSlice(repository.findSliceByAuthorId(author.getId(), sortedPageable));
+            case APPROXIMATE -> taskMapper.toDtosPage(withTotal(
+                    repository.findSliceByAuthorId(author.getId(), sortedPageable),
+                    counterRepository.findAuthoredTasksByUserId(author.getId()).orElse(0L)
+            ));
+        };
+    }
+
+    /**
+     * Getting window with tasks by author id after given position (keyset pagination) - for admin
+     * @param authorId - id of author this window of tasks
+     * @param position - position (timestamp, id) of the last task of previous window
+     * @param size - window size
+     * @return window of tasks dto or throws AccessForbiddenException
      */
     @Override
-    public Page<TaskDto> getByAuthorId(Long authorId, Pageable pageable) {
+    public Window<TaskDto> getByAuthorId(Long authorId, KeysetScrollPosition position, int size) {
+        var author = getAccessibleAuthor(authorId);
+        return taskMapper.toDtosWindow(
+                repository.findAllByAuthorIdAfter(author.getId(),
+                        WindowMapper.timestampOf(position), WindowMapper.idOf(position), Limit.of(size + 1)),
+                size
+        );
+    }
+
+    /**
+     * Getting author whose tasks may be viewed by current user - for admin
+     * @param authorId - id of author
+     * @return author or throws AccessForbiddenException, NotFoundException
+     */
+    private User getAccessibleAuthor(Long authorId) {
         if (userAccessService.isAdmin()) {
-            var author = userService.getById(authorId);
-            if (pageable.getSort().isUnsorted()){
-                return taskMapper.toDtosPage(repository.findAllByAuthorOrderByTimestampAsc(author, pageable));
-            } else {
-                return taskMapper.toDtosPage(repository.findAllByAuthor(author, pageable));
-            }
+            return userService.getById(authorId);
         } else {
             throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
                     "Access denied. User does not have the required permissions to get tasks page by author id");
@@ -80,19 +219,50 @@ public class TaskServiceImpl implements TaskService {
      * Getting page with tasks by executor id - for admin or task executor
      * @param executorId - id of executor this page of tasks
      * @param pageable - interface for pagination
-     * @return page of tasks dto or throws AccessForbiddenException
+     * @param countMode - how total elements of the page are counted
+     * @return page (or slice if count mode is NONE) of tasks dto or throws AccessForbiddenException
      */
     @Override
-    public Page<TaskDto> getByExecutorId(Long executorId, Pageable pageable) {
-        var userEmail = userAccessService.getCurrentEmail();
-        var currentUser = userService.getByEmail(userEmail);
-        if (userAccessService.isAdmin() || currentUser.getId().equals(executorId)) {
-            var executor = userService.getById(executorId);
-            if (pageable.getSort().isUnsorted()){
-                return taskMapper.toDtosPage(repository.findAllByExecutorOrderByTimestampAsc(executor, pageable));
-            } else {
-                return taskMapper.toDtosPage(repository.findAllByExecutor(executor, pageable));
-            }
+    public Slice<TaskDto> getByExecutorId(Long executorId, Pageable pageable, CountMode countMode) {
+        var executor = getAccessibleExecutor(executorId);
+        var sortedPageable = withDefaultSort(pageable);
+        return switch (countMode) {
+            case EXACT -> taskMapper.toDtosPage(repository.findAllByExecutorId(executor.getId(), sortedPageable));
+            case NONE -> taskMapper.toDtosSlice(repository.findSliceByExecutorId(executor.getId(), sortedPageable));
+            case APPROXIMATE -> taskMapper.toDtosPage(withTotal(
+                    repository.findSliceByExecutorId(executor.getId(), sortedPageable),
+                    counterRepository.findExecutedTasksByUserId(executor.getId()).orElse(0L)
+            ));
+        };
+    }
+
+    /**
+     * Getting window with tasks by executor id after given position (keyset pagination) - for admin or task executor
+     * @param executorId - id of executor this window of tasks
+     * @param position - position (timestamp, id) of the last task of previous window
+     * @param size - window size
+     * @return window of tasks dto or throws AccessForbiddenException
+     */
+    @Override
+    public Window<TaskDto> getByExecutorId(Long executorId, KeysetScrollPosition position, int size) {
+        var executor = getAccessibleExecutor(executorId);
+        return taskMapper.toDtosWindow(
+                repository.findAllByExecutorIdAfter(executor.getId(),
+                        WindowMapper.timestampOf(position), WindowMapper.idOf(position), Limit.of(size + 1)),
+                size
+        );
+    }
+
+    /**
+     * Getting executor whose tasks may be viewed by current user - for admin or executor himself/herself
+     * @param executorId - id of executor
+     * @return executor or throws AccessForbiddenException, NotFoundException
+     */
+    private User getAccessibleExecutor(Long executorId) {
+        if (userAccessService.isAdmin()) {
+            return userService.getById(executorId);
+        } else if (userAccessService.getCurrentUserId().equals(executorId)) {
+            return userService.getReferenceById(executorId);
         } else {
             throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
                     "Access denied. User does not have the required permissions to get tasks page by this executor id");
@@ -100,17 +270,60 @@ public class TaskServiceImpl implements TaskService {
     }
 
     /**
-     * Deleting task by its id - for admin (may throw AccessForbiddenException)
+     * Deleting task by its id - for admin (may throw AccessForbiddenException).
+     * Task comments are deleted with one bulk statement instead of being loaded and deleted one by one
+     * (the task is deleted by a bulk statement as well, so the whole tasks region of second-level cache is evicted).
+     * The task row is locked, so that concurrent deletion or purge of the same task waits and then finds nothing,
+     * and counters are decremented for the author and executor of the locked row only if it has been deleted
      * @param id of task to delete
      */
     @Override
     @Transactional
     public void deleteById(Long id) {
+        checkDeletePermission();
+        var task = repository.findLockedById(id).orElseThrow(
+                () -> new NotFoundException(HttpStatus.NOT_FOUND, "Task with id " + id + " is not found")
+        );
+        commentRepository.deleteAllByTaskId(id);
+        if (repository.deleteTaskById(id) == 1) {
+            counterRepository.addTask(task, -1);
+        }
+    }
+
+    /**
+     * Purging task by its id in background (for very large tasks) - for admin (may throw AccessForbiddenException,
+     * ServiceUnavailableException if the purge executor is overloaded)
+     * @param id of task to purge
+     */
+    @Override
+    public void purgeById(Long id) {
+        getDeletableTask(id);
+        try {
+            purgeService.purge(id);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many tasks are being purged. Please try again later");
+        }
+    }
+
+    /**
+     * Getting task which may be deleted by current user - for admin
+     * @param id of task to delete
+     * @return task or throws AccessForbiddenException, NotFoundException
+     */
+    private Task getDeletableTask(Long id) {
+        checkDeletePermission();
+        return findTaskById(id);
+    }
+
+    /**
+     * Checking whether current user may delete tasks - admin only (may throw AccessForbiddenException)
+     */
+    private void checkDeletePermission() {
         if(!userAccessService.isAdmin()){
             throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
                     "Access denied. User does not have the required permissions to delete task");
         }
-        repository.delete(findTaskById(id));
     }
 
     /**
@@ -126,9 +339,12 @@ public class TaskServiceImpl implements TaskService {
             if (userService.validateEmail(task.getExecutor().getEmail())) {
                 var executor = userService.getByEmail(task.getExecutor().getEmail());
                 task.setExecutor(executor);
-                var author = userService.getByEmail(userAccessService.getCurrentEmail());
+                var author = userService.getReferenceById(userAccessService.getCurrentUserId());
                 task.setAuthor(author);
-                return taskMapper.toDto(repository.save(task));
+                var savedTask = repository.save(task);
+                counterRepository.addTask(savedTask, 1);
+                publish(TaskEventType.TASK_CREATED, savedTask);
+                return taskMapper.toDto(savedTask);
             } else {
                 throw new InvalidDataException(HttpStatus.BAD_REQUEST,
                         "Email " + task.getExecutor().getEmail() + " is not valid");
@@ -139,25 +355,118 @@ public class TaskServiceImpl implements TaskService {
     }
 
     /**
-     * Task updating - for admin (may throw AccessForbiddenException, InvalidDataException)
+     * Batch task creating - for admin (may throw AccessForbiddenException, InvalidDataException).
+     * All executors are resolved with one query, every task is validated up front
+     * and the valid ones are inserted in JDBC batches within one transaction
+     * @param dtos - list of dto for creating new tasks
+     * @return per-item results: created TaskDto or the reason why the task has been rejected
+     */
+    @Override
+    @Transactional
+    public List<TaskBatchResultDto> addAll(List<TaskAddOrUpdateDto> dtos) {
+        if (!userAccessService.isAdmin()) {
+            throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
+                    "Access is denied. User does not have permission to create task.");
+        }
+        if (dtos == null || dtos.isEmpty() || dtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidDataException(HttpStatus.BAD_REQUEST,
+                    "Batch must contain from 1 to " + MAX_BATCH_SIZE + " tasks");
+        }
+        var author = userService.getReferenceById(userAccessService.getCurrentUserId());
+        var executors = userService.getAllByEmails(dtos.stream()
+                .filter(Objects::nonNull)
+                .map(TaskAddOrUpdateDto::getExecutorEmail)
+                .filter(Objects::nonNull)
+                .filter(userService::validateEmail)
+                .collect(Collectors.toSet()));
+
+        var results = new ArrayList<TaskBatchResultDto>(dtos.size());
+        var tasks = new ArrayList<Task>();
+        for (int index = 0; index < dtos.size(); index++) {
+            var dto = dtos.get(index);
+            var rejection = validateForBatch(dto, executors);
+            if (rejection != null) {
+                results.add(new TaskBatchResultDto(index, null, rejection));
+            } else {
+                var task = taskMapper.toEntity(dto);
+                task.setAuthor(author);
+                task.setExecutor(executors.get(dto.getExecutorEmail()));
+                tasks.add(task);
+                results.add(new TaskBatchResultDto(index, null, null));
+            }
+        }
+
+        var savedTasks = repository.saveAll(tasks).iterator();
+        results.stream()
+                .filter(result -> result.getMessage() == null)
+                .forEach(result -> {
+                    var savedTask = savedTasks.next();
+                    publish(TaskEventType.TASK_CREATED, savedTask);
+                    result.setTask(taskMapper.toDto(savedTask));
+                });
+        countTasks(author, tasks);
+        return results;
+    }
+
+    /**
+     * Validating task of the batch
+     * @param dto - dto for creating new task
+     * @param executors - already resolved executors by their emails
+     * @return reason why the task has to be rejected or null if it is valid
+     */
+    private String validateForBatch(TaskAddOrUpdateDto dto, Map<String, User> executors) {
+        if (dto == null || dto.getTitle() == null || dto.getDescription() == null ||
+                dto.getStatus() == null || dto.getPriority() == null || dto.getExecutorEmail() == null) {
+            return "Title, description, status, priority and executor's e-mail are required";
+        }
+        if (!userService.validateEmail(dto.getExecutorEmail())) {
+            return "Email " + dto.getExecutorEmail() + " is not valid";
+        }
+        if (!executors.containsKey(dto.getExecutorEmail())) {
+            return "User with e-mail " + dto.getExecutorEmail() + " is not found";
+        }
+        return null;
+    }
+
+    /**
+     * Task updating - for admin (may throw AccessForbiddenException, InvalidDataException,
+     * PreconditionFailedException, ConflictException).
+     * Only changed columns are written, the version is checked by the update statement itself.
+     * When the task is reassigned, its previous executor gets TASK_UNASSIGNED event, since TASK_UPDATED one
+     * is addressed to the new executor only
      * @param id of task for updating
      * @param dto for updating existent task
+     * @param expectedVersion - version the client has read (If-Match), null for unconditional update
      * @return TaskDto - updated taskDto
      */
     @Override
     @Transactional
-    public TaskDto update(Long id, TaskAddOrUpdateDto dto) {
+    public TaskDto update(Long id, TaskAddOrUpdateDto dto, Long expectedVersion) {
         if (userAccessService.isAdmin()) {
             var task = findTaskById(id);
+            checkVersion(task, expectedVersion);
+            var previousExecutor = task.getExecutor();
             if (atLeastOneFieldIsNotNull(dto)) {
                 if (userService.validateEmail(dto.getExecutorEmail())) {
-                    updateTask(dto, task);
+                    if (updateTask(dto, task)) {
+                        touch(task);
+                    }
+                    if (!task.getExecutor().getId().equals(previousExecutor.getId())) {
+                        counterRepository.addExecutedTasks(previousExecutor.getId(), -1);
+                        counterRepository.addExecutedTasks(task.getExecutor().getId(), 1);
+                    }
                 } else{
                     throw new InvalidDataException(HttpStatus.BAD_REQUEST,
                             "Email " + dto.getExecutorEmail() + " is not valid");
                 }
             }
-            return taskMapper.toDto(repository.save(task));
+            var savedTask = saveAndFlush(task);
+            publish(TaskEventType.TASK_UPDATED, savedTask);
+            if (!savedTask.getExecutor().getId().equals(previousExecutor.getId())) {
+                eventPublisher.publishEvent(new TaskEventDto(TaskEventType.TASK_UNASSIGNED, savedTask.getId(),
+                        previousExecutor.getId(), null, null));
+            }
+            return taskMapper.toDto(savedTask);
         } else {
             throw new AccessForbiddenException(HttpStatus.FORBIDDEN,
                     "Access is denied. User does not have permission to update task.");
@@ -165,19 +474,132 @@ public class TaskServiceImpl implements TaskService {
     }
 
     /**
-     * Updating task status - for admin and task executor
+     * Updating task status - for admin and task executor (may throw PreconditionFailedException, ConflictException)
      * @param id of task for updating its status
      * @param status for updating existent task status
+     * @param expectedVersion - version the client has read (If-Match), null for unconditional update
      * @return TaskDto with updated status
      */
     @Override
     @Transactional
-    public TaskDto update(Long id, Status status) {
-        var task = getById(id);
+    public TaskDto update(Long id, Status status, Long expectedVersion) {
+        var task = getAccessibleTask(id);
+        checkVersion(task, expectedVersion);
+        var changed = statusIsNotNull(status) && status != task.getStatus();
         if(statusIsNotNull(status)){
             updateStatus(status, task);
         }
-        return taskMapper.toDto(repository.save(task));
+        if (changed) {
+            touch(task);
+        }
+        var savedTask = saveAndFlush(task);
+        if (changed) {
+            publish(TaskEventType.STATUS_CHANGED, savedTask);
+        }
+        return taskMapper.toDto(savedTask);
+    }
+
+    /**
+     * Publishing task event, it is broadcast to subscribers only after the transaction is committed
+     * @param type - event type
+     * @param task - created or updated task
+     */
+    private void publish(TaskEventType type, Task task) {
+        eventPublisher.publishEvent(new TaskEventDto(type, task.getId(), task.getExecutor().getId(), task.getStatus(), null));
+    }
+
+    /**
+     * Checking that the task has not been modified since the client read it
+     * @param task - loaded task
+     * @param expectedVersion - version the client has read, null if it is not checked
+     */
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException(HttpStatus.PRECONDITION_FAILED,
+                    "Task with id " + task.getId() + " has been modified. Current version is " + task.getVersion());
+        }
+    }
+
+    /**
+     * Flushing the task within the method, so that the returned dto carries the incremented version
+     * and a concurrent modification is reported as ConflictException
+     * @param task - modified task
+     * @return flushed task
+     */
+    private Task saveAndFlush(Task task) {
+        try {
+            return repository.saveAndFlush(task);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException(HttpStatus.CONFLICT,
+                    "Task with id " + task.getId() + " has been modified concurrently. Please reload it and try again");
+        }
+    }
+
+    /**
+     * Updating status of several tasks - for admin and tasks executor.
+     * Accessible tasks are locked and updated with set-based statements, the tasks are not loaded
+     * (the statement evicts the whole tasks region of second-level cache, see TaskRepository)
+     * @param dto - ids of tasks and their new status
+     * @return ids of updated tasks and ids of tasks which are not found or not accessible by current user
+     */
+    @Override
+    @Transactional
+    public TaskStatusBatchResultDto update(TaskStatusBatchDto dto) {
+        if (dto == null || !statusIsNotNull(dto.getStatus()) || dto.getIds() == null ||
+                dto.getIds().isEmpty() || dto.getIds().size() > MAX_BATCH_SIZE) {
+            throw new InvalidDataException(HttpStatus.BAD_REQUEST,
+                    "Status and from 1 to " + MAX_BATCH_SIZE + " task ids are required");
+        }
+        var ids = dto.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        var userId = userAccessService.getCurrentUserId();
+        var isAdmin = userAccessService.isAdmin();
+
+        var updated = repository.lockAccessibleIds(ids, userId, isAdmin);
+        if (!updated.isEmpty()) {
+            repository.updateStatusOfAccessible(updated, userId, isAdmin, dto.getStatus());
+            // executor of user's tasks is the user himself/herself, admin's ones are selected without loading tasks
+            var assignments = isAdmin
+                    ? repository.findAssignmentsByIds(updated)
+                    : updated.stream().map(id -> new TaskAssignment(id, userId)).toList();
+            assignments.forEach(assignment -> eventPublisher.publishEvent(new TaskEventDto(TaskEventType.STATUS_CHANGED,
+                    assignment.taskId(), assignment.executorId(), dto.getStatus(), null)));
+        }
+        var denied = ids.stream().filter(id -> !updated.contains(id)).toList();
+        return new TaskStatusBatchResultDto(updated.stream().sorted().toList(), denied);
+    }
+
+    /**
+     * Sorting by timestamp:ASC (and id to make the order stable) unless other sorting is requested
+     * @param pageable - interface for pagination
+     * @return pageable with sorting
+     */
+    private Pageable withDefaultSort(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSortOr(DEFAULT_SORT));
+    }
+
+    /**
+     * Turning slice into page with total elements got from elsewhere (e.g. counters)
+     * @param slice - slice of tasks
+     * @param total - total elements
+     * @return page of tasks
+     */
+    private <T> Page<T> withTotal(Slice<T> slice, long total) {
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    /**
+     * Keeping task counters in step with batch task creation: one update per author and per distinct executor
+     * @param author - author of all created tasks
+     * @param tasks - created tasks
+     */
+    private void countTasks(User author, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        counterRepository.addAuthoredTasks(author.getId(), tasks.size());
+        tasks.stream()
+                .collect(Collectors.groupingBy(task -> task.getExecutor().getId(), Collectors.counting()))
+                .forEach(counterRepository::addExecutedTasks);
     }
 
     /**
@@ -204,17 +626,33 @@ public class TaskServiceImpl implements TaskService {
      * Update task from TaskAddOrUpdateDto
      * @param dto - dto
      * @param task - entity
+     * @return true if at least one field has been changed
      */
-    private void updateTask(TaskAddOrUpdateDto dto, Task task) {
+    private boolean updateTask(TaskAddOrUpdateDto dto, Task task) {
+        var executor = userService.getByEmail(dto.getExecutorEmail());
+        var changed = dto.getTitle() != null && !dto.getTitle().equals(task.getTitle())
+                || dto.getDescription() != null && !dto.getDescription().equals(task.getDescription())
+                || dto.getStatus() != null && dto.getStatus() != task.getStatus()
+                || dto.getPriority() != null && dto.getPriority() != task.getPriority()
+                || !executor.getId().equals(task.getExecutor().getId());
         task.setTitle(dto.getTitle() != null ? dto.getTitle() : task.getTitle());
         task.setDescription(dto.getDescription() != null ? dto.getDescription() : task.getDescription());
         task.setStatus(dto.getStatus() != null ? dto.getStatus() : task.getStatus());
         task.setPriority(dto.getPriority() != null ? dto.getPriority() : task.getPriority());
-        task.setExecutor(
-        !userService.getByEmail(dto.getExecutorEmail()).equals(userService.getByEmail(task.getExecutor().getEmail())) ?
-            userService.getByEmail(dto.getExecutorEmail()) : task.getExecutor()
-    );
+        if (!executor.getId().equals(task.getExecutor().getId())) {
+            task.setExecutor(executor);
         }
+        return changed;
+    }
+
+    /**
+     * Setting modification time of changed task (it is not generated on every flush,
+     * since comments version is written to the same row)
+     * @param task - entity
+     */
+    private void touch(Task task) {
+        task.setModifiedAt(new Timestamp(System.currentTimeMillis()));
+    }
 
     /**
      * Update task status
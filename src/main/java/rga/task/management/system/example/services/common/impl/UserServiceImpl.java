@@ -1,33 +1,55 @@
 package rga.task.management.system.example.services.common.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import rga.task.management.system.example.configs.CacheConfig;
 import rga.task.management.system.example.dtos.UserAuthRequestDto;
+import rga.task.management.system.example.entities.TaskCounter;
 import rga.task.management.system.example.entities.User;
 import rga.task.management.system.example.exceptions.NotFoundException;
+import rga.task.management.system.example.exceptions.UserAlreadyExistentException;
 import rga.task.management.system.example.mappers.impl.UserMapper;
+import rga.task.management.system.example.repositories.TaskCounterRepository;
 import rga.task.management.system.example.repositories.UserRepository;
+import rga.task.management.system.example.services.common.EmailFilterService;
 import rga.task.management.system.example.services.common.UserService;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @AllArgsConstructor
 @Service
 public class UserServiceImpl implements UserService {
 
     private static final String EMAIL_PATTERN = "^[\\w-.]+@[\\w-]+(\\.[\\w-]+)*\\.[a-z]{2,}$";
     private static final int PASSWORD_MIN_LENGTH = 8;
+    private static final String EMAIL_FILTER_CHECKS = "users.email.filter.checks";
+    private static final String RESULT = "result";
 
     private final UserRepository repository;
+    private final TaskCounterRepository counterRepository;
     private final UserMapper mapper;
+    private final EmailFilterService emailFilter;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Getting user by id
+     * Getting user by id (cached)
      * @param id of user to be got
      * @return found user or throw NotFoundException
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID)
     public User getById(@NotNull Long id) {
         return repository.findById(id).orElseThrow(
                 () -> new NotFoundException(HttpStatus.NOT_FOUND, "User with id " + id + " is not found")
@@ -35,11 +57,12 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Getting user by email
+     * Getting user by email (cached)
      * @param email of user to be got
      * @return found user or throw NotFoundException
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL)
     public User getByEmail(@NotNull String email) {
         return repository.findByEmail(email).orElseThrow(
                 () -> new NotFoundException(HttpStatus.NOT_FOUND, "User with e-mail " + email + " is not found")
@@ -47,16 +70,70 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Creating new user
+     * Getting reference (not initialized proxy) to the user by id without any query,
+     * e.g. for the current user whose id is known from JWT
+     * @param id of user
+     * @return user reference
+     */
+    @Override
+    public User getReferenceById(@NotNull Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    /**
+     * Getting users by emails with a single query
+     * @param emails of users to be got
+     * @return found users by their emails (emails of not found users are absent)
+     */
+    @Override
+    public Map<String, User> getAllByEmails(Collection<String> emails) {
+        return repository.findAllByEmailIn(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+    }
+
+    /**
+     * Creating new user together with its (empty) task counters, created user is put into cache
+     * once the (possibly outer) transaction has been committed, and its e-mail is added to e-mail filter
      * @param dto for creating user
      * @return created user
      */
     @Override
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.USERS_BY_ID, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#result.email")
+    })
     @Transactional
     public User create(UserAuthRequestDto dto) {
-        return repository.save(
-                mapper.toEntity(dto)
-        );
+        User user;
+        try {
+            // flushing at once, so that unique e-mail constraint (the final arbiter) is checked right here
+            user = repository.saveAndFlush(
+                    mapper.toEntity(dto)
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistentException(HttpStatus.BAD_REQUEST,
+                    "User with e-mail " + dto.getEmail() + " is already existent in the system. " +
+                            "Try to use another e-mail to register or just try to authenticate with this e-mail.");
+        }
+        counterRepository.save(new TaskCounter(user.getId()));
+        emailFilter.add(user.getEmail());
+        return user;
+    }
+
+    /**
+     * Replacing user's password hash (e.g. rehashed with other cost), user is evicted from cache
+     * @param user - user whose password is to be replaced
+     * @param encodedPassword - new password hash
+     */
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ID, key = "#user.id"),
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#user.email")
+    })
+    @Transactional
+    public void updatePassword(User user, String encodedPassword) {
+        repository.findById(user.getId())
+                .ifPresent(found -> found.setPassword(encodedPassword));
     }
 
     /**
@@ -80,13 +157,19 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Checking if email exists in db
+     * Checking if email exists in db: e-mails surely absent in e-mail filter are not looked up in db
      * @param email to be checked
      * @return true/false
      */
     @Override
     public boolean existsByEmail(@NotNull String email) {
-            return repository.existsByEmail(email);
+        if (!emailFilter.mightExist(email)) {
+            meterRegistry.counter(EMAIL_FILTER_CHECKS, RESULT, "absent").increment();
+            return false;
+        }
+        var exists = repository.existsByEmail(email);
+        meterRegistry.counter(EMAIL_FILTER_CHECKS, RESULT, exists ? "present" : "false_positive").increment();
+        return exists;
     }
 
 }
@@ -0,0 +1,7 @@
+UPDATE tasks SET timestamp = CURRENT_TIMESTAMP WHERE timestamp IS NULL;
+ALTER TABLE tasks ALTER COLUMN timestamp SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE tasks ALTER COLUMN timestamp SET NOT NULL;
+
+UPDATE comments SET timestamp = CURRENT_TIMESTAMP WHERE timestamp IS NULL;
+ALTER TABLE comments ALTER COLUMN timestamp SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE comments ALTER COLUMN timestamp SET NOT NULL;
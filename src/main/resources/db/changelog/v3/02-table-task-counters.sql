@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS task_counters (
+    user_id         INT PRIMARY KEY NOT NULL
+    CONSTRAINT fk_task_counters_user_id
+    REFERENCES users (id),
+    authored_tasks  BIGINT DEFAULT 0 NOT NULL,
+    executed_tasks  BIGINT DEFAULT 0 NOT NULL
+    );
+
+COMMENT ON TABLE task_counters IS 'Таблица счётчиков задач пользователей';
+COMMENT ON COLUMN task_counters.user_id IS 'id пользователя';
+COMMENT ON COLUMN task_counters.authored_tasks IS 'Количество задач, автором которых является пользователь';
+COMMENT ON COLUMN task_counters.executed_tasks IS 'Количество задач, исполнителем которых является пользователь';
+
+INSERT INTO task_counters (user_id, authored_tasks, executed_tasks)
+SELECT u.id,
+       (SELECT COUNT(*) FROM tasks t WHERE t.author_id = u.id),
+       (SELECT COUNT(*) FROM tasks t WHERE t.executor_id = u.id)
+FROM users u;
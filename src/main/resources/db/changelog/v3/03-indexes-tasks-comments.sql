@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_tasks_author_id_timestamp_id ON tasks (author_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_executor_id_timestamp_id ON tasks (executor_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_comments_task_id_timestamp_id ON comments (task_id, timestamp, id);
@@ -0,0 +1,3 @@
+ALTER SEQUENCE USER_SEQUENCE_ID INCREMENT BY 50;
+ALTER SEQUENCE TASK_SEQUENCE_ID INCREMENT BY 50;
+ALTER SEQUENCE COMMENT_SEQUENCE_ID INCREMENT BY 50;
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    token_hash  VARCHAR(64) PRIMARY KEY NOT NULL,
+    user_id     INT NOT NULL
+    CONSTRAINT fk_refresh_tokens_user_id
+    REFERENCES users (id),
+    expires_at  TIMESTAMP NOT NULL
+    );
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+
+COMMENT ON TABLE refresh_tokens IS 'Таблица токенов обновления';
+COMMENT ON COLUMN refresh_tokens.token_hash IS 'SHA-256 токена обновления';
+COMMENT ON COLUMN refresh_tokens.user_id IS 'id пользователя';
+COMMENT ON COLUMN refresh_tokens.expires_at IS 'Время истечения токена обновления';
@@ -0,0 +1,3 @@
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+COMMENT ON COLUMN tasks.version IS 'Версия задачи для оптимистической блокировки';
@@ -0,0 +1,9 @@
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS modified_at TIMESTAMP;
+UPDATE tasks SET modified_at = timestamp WHERE modified_at IS NULL;
+ALTER TABLE tasks ALTER COLUMN modified_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE tasks ALTER COLUMN modified_at SET NOT NULL;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS comments_version BIGINT DEFAULT 0 NOT NULL;
+
+COMMENT ON COLUMN tasks.modified_at IS 'Время последнего изменения задачи';
+COMMENT ON COLUMN tasks.comments_version IS 'Версия комментариев задачи, увеличивается при каждом их изменении';
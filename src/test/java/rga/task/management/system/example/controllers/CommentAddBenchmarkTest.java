@@ -0,0 +1,104 @@
+package rga.task.management.system.example.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.CommentDto;
+import rga.task.management.system.example.dtos.UserAuthResponseDto;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Posting a comment must cost the same whatever the number of existing comments of the task:
+ * the task is attached by reference and its comments collection is never initialised
+ */
+@Slf4j
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:comment_add_db",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Test CommentController add method on busy task:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CommentAddBenchmarkTest {
+
+    private final TestRestTemplate testRestTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final String COMMENTS_ENDPOINT = "/rest/v1/comments";
+
+    private static final long QUIET_TASK_ID = 1L;
+    private static final long BUSY_TASK_ID = 2L;
+    private static final int BUSY_TASK_COMMENTS = 10_000;
+    private static final int POSTS = 20;
+
+    private HttpHeaders httpHeadersForAdmin;
+
+    @BeforeEach
+    void setUp() {
+        httpHeadersForAdmin = new HttpHeaders();
+        httpHeadersForAdmin.setContentType(MediaType.APPLICATION_JSON);
+        final String AUTH_REQUEST = "{\"email\":\"ivanov123@mail.ru\",\"password\":\"passwordADMIN\"}";
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<UserAuthResponseDto> authResponse = testRestTemplate.postForEntity("/rest/v1/security/auth",
+                new HttpEntity<>(AUTH_REQUEST, httpHeaders), UserAuthResponseDto.class);
+        httpHeadersForAdmin.setBearerAuth(Objects.requireNonNull(authResponse.getBody()).getJwt());
+    }
+
+    @Test
+    @DisplayName("Test add comment to task with 10k comments costs the same as to task with few comments")
+    void testAddCommentToBusyTask() {
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, content, task_id, commentator_id) VALUES (?, ?, ?, ?)",
+                IntStream.range(0, BUSY_TASK_COMMENTS)
+                        .mapToObj(i -> new Object[]{1_000_000L + i, "Content " + i, BUSY_TASK_ID, 1L})
+                        .toList());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        postComments(QUIET_TASK_ID);
+        statistics.clear();
+        long quietNanos = postComments(QUIET_TASK_ID);
+        long quietStatements = statistics.getPrepareStatementCount();
+        long quietEntityLoads = statistics.getEntityLoadCount();
+
+        statistics.clear();
+        long busyNanos = postComments(BUSY_TASK_ID);
+        long busyStatements = statistics.getPrepareStatementCount();
+        long busyEntityLoads = statistics.getEntityLoadCount();
+
+        log.info("Average add comment time: task with few comments {} us, task with {} comments {} us",
+                quietNanos / POSTS / 1000, BUSY_TASK_COMMENTS, busyNanos / POSTS / 1000);
+
+        assertEquals(0, statistics.getCollectionLoadCount());
+        // the only allowed difference is one more pooled sequence block fetched when crossing its boundary
+        assertTrue(Math.abs(busyStatements - quietStatements) <= 1,
+                "%d statements for quiet task, %d for busy one".formatted(quietStatements, busyStatements));
+        assertEquals(quietEntityLoads, busyEntityLoads);
+    }
+
+    private long postComments(long taskId) {
+        long start = System.nanoTime();
+        for (int i = 0; i < POSTS; i++) {
+            HttpEntity<String> httpEntity = new HttpEntity<>("New comment " + i, httpHeadersForAdmin);
+            ResponseEntity<CommentDto> response = testRestTemplate.exchange(COMMENTS_ENDPOINT + "/task/" + taskId,
+                    HttpMethod.POST, httpEntity, CommentDto.class);
+            assertSame(response.getStatusCode(), HttpStatus.CREATED);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -106,6 +106,27 @@ class CommentControllerTest {
         assertSame(response.getStatusCode(), HttpStatus.OK);
     }
 
+    @Test
+    @Order(14)
+    @DisplayName("Test get pages with comments (by task id) in cursor mode by task executor")
+    void testGetCommentsPagesByTaskIdInCursorModeByTaskExecutor(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForUser);
+        ResponseEntity<String> firstResponse = testRestTemplate.exchange(COMMENTS_ENDPOINT + "/task/3?cursor=&size=1", HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(firstResponse.getBody());
+        assertTrue(firstResponse.getBody().startsWith("[{\"id\":1,\"content\":\"Content 1\""));
+        String nextCursor = firstResponse.getHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(nextCursor);
+        assertSame(firstResponse.getStatusCode(), HttpStatus.OK);
+
+        ResponseEntity<String> secondResponse = testRestTemplate.exchange(COMMENTS_ENDPOINT + "/task/3?size=1&cursor=" + nextCursor, HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(secondResponse.getBody());
+        assertTrue(secondResponse.getBody().startsWith("[{\"id\":5,\"content\":\"Content 5\""));
+        assertFalse(secondResponse.getHeaders().containsKey("X-Next-Cursor"));
+        assertSame(secondResponse.getStatusCode(), HttpStatus.OK);
+    }
+
     @Test
     @Order(13)
     @DisplayName("Test get page with comments (by nonexistent task id) by executor or user with role ROLE_ADMIN")
@@ -0,0 +1,133 @@
+package rga.task.management.system.example.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.security.JwtAccessProvider;
+import rga.task.management.system.example.services.common.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = "spring.datasource.url=jdbc:h2:mem:conditional_db")
+@DisplayName("Test conditional GET of task and its comments:")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConditionalRequestTest {
+
+    private static final String TASK_URL = "/rest/v1/tasks/1";
+    private static final String COMMENTS_URL = "/rest/v1/comments/task/1";
+
+    private final TestRestTemplate testRestTemplate;
+    private final JwtAccessProvider accessProvider;
+    private final UserService userService;
+
+    private HttpHeaders headers(String email) {
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(accessProvider.buildAccessJwt(userService.getByEmail(email)));
+        return httpHeaders;
+    }
+
+    private ResponseEntity<String> get(String url, HttpHeaders httpHeaders) {
+        return testRestTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(httpHeaders), String.class);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test unchanged task is byte-stable and answered with 304 by If-None-Match and If-Modified-Since")
+    void testTaskNotModified() {
+        var first = get(TASK_URL, headers("pet89rov@mail.ru"));
+        var second = get(TASK_URL, headers("pet89rov@mail.ru"));
+
+        assertSame(HttpStatus.OK, first.getStatusCode());
+        assertEquals(first.getBody(), second.getBody());
+        var eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+
+        var byETag = headers("pet89rov@mail.ru");
+        byETag.setIfNoneMatch(eTag);
+        var notModified = get(TASK_URL, byETag);
+        assertSame(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(eTag, notModified.getHeaders().getETag());
+
+        var byWeakETag = headers("pet89rov@mail.ru");
+        byWeakETag.setIfNoneMatch("W/" + eTag);
+        assertSame(HttpStatus.NOT_MODIFIED, get(TASK_URL, byWeakETag).getStatusCode());
+
+        var byDate = headers("pet89rov@mail.ru");
+        byDate.setIfModifiedSince(first.getHeaders().getLastModified());
+        assertSame(HttpStatus.NOT_MODIFIED, get(TASK_URL, byDate).getStatusCode());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test conditional GET does not bypass access check")
+    void testConditionalGetOfInaccessibleTask() {
+        var eTag = get(TASK_URL, headers("pet89rov@mail.ru")).getHeaders().getETag();
+
+        var httpHeaders = headers("si78dorov@mail.ru");
+        httpHeaders.setIfNoneMatch(eTag);
+        var response = get(TASK_URL, httpHeaders);
+
+        assertSame(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test modified task is answered with 200 and new ETag")
+    void testTaskModified() {
+        var eTag = get(TASK_URL, headers("pet89rov@mail.ru")).getHeaders().getETag();
+        var update = testRestTemplate.exchange(TASK_URL + "/status", HttpMethod.PUT,
+                new HttpEntity<>("\"IN_PROGRESS\"", jsonHeaders("pet89rov@mail.ru")), TaskDto.class);
+        assertSame(HttpStatus.OK, update.getStatusCode());
+
+        var httpHeaders = headers("pet89rov@mail.ru");
+        httpHeaders.setIfNoneMatch(eTag);
+        var response = get(TASK_URL, httpHeaders);
+
+        assertSame(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+        assertEquals(update.getHeaders().getETag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test comments page is answered with 304 until a comment is added, task ETag is left intact")
+    void testCommentsNotModifiedUntilCommentAdded() {
+        var taskETag = get(TASK_URL, headers("pet89rov@mail.ru")).getHeaders().getETag();
+        var page = get(COMMENTS_URL, headers("pet89rov@mail.ru"));
+        assertSame(HttpStatus.OK, page.getStatusCode());
+        var eTag = page.getHeaders().getETag();
+        assertNotNull(eTag);
+
+        var conditional = headers("pet89rov@mail.ru");
+        conditional.setIfNoneMatch(eTag);
+        assertSame(HttpStatus.NOT_MODIFIED, get(COMMENTS_URL, conditional).getStatusCode());
+
+        var added = testRestTemplate.exchange(COMMENTS_URL, HttpMethod.POST,
+                new HttpEntity<>("New content", headers("pet89rov@mail.ru")), String.class);
+        assertSame(HttpStatus.CREATED, added.getStatusCode());
+
+        var response = get(COMMENTS_URL, conditional);
+        assertSame(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+        assertTrue(response.getBody().contains("New content"));
+        assertEquals(taskETag, get(TASK_URL, headers("pet89rov@mail.ru")).getHeaders().getETag());
+    }
+
+    private HttpHeaders jsonHeaders(String email) {
+        var httpHeaders = headers(email);
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        return httpHeaders;
+    }
+
+}
@@ -0,0 +1,40 @@
+package rga.task.management.system.example.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import rga.task.management.system.example.exceptions.AccessForbiddenException;
+import rga.task.management.system.example.exceptions.DomainException;
+import rga.task.management.system.example.exceptions.NotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test error path:")
+class ExceptionHandlerControllerTest {
+
+    @Test
+    @DisplayName("Test domain exceptions capture stack trace only when it is switched on")
+    void testDomainExceptionStackTrace() {
+        assertEquals(0, new NotFoundException(HttpStatus.NOT_FOUND, "Not found").getStackTrace().length);
+
+        DomainException.setStackTraceEnabled(true);
+        try {
+            assertTrue(new NotFoundException(HttpStatus.NOT_FOUND, "Not found").getStackTrace().length > 0);
+        } finally {
+            DomainException.setStackTraceEnabled(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Test errors are logged at most max-per-second times per exception type")
+    void testErrorLogLimiter() {
+        var limiter = new ExceptionHandlerController.ErrorLogLimiter(2);
+
+        assertEquals(0, limiter.tryAcquire(NotFoundException.class));
+        assertEquals(0, limiter.tryAcquire(NotFoundException.class));
+        assertEquals(-1, limiter.tryAcquire(NotFoundException.class));
+        assertEquals(-1, limiter.tryAcquire(NotFoundException.class));
+        assertEquals(0, limiter.tryAcquire(AccessForbiddenException.class));
+    }
+
+}
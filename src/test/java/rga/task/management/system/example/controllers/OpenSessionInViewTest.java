@@ -0,0 +1,54 @@
+package rga.task.management.system.example.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.*;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.security.JwtAccessProvider;
+import rga.task.management.system.example.services.common.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = "spring.datasource.url=jdbc:h2:mem:osiv_db")
+@DisplayName("Test requests without open session in view:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OpenSessionInViewTest {
+
+    private final TestRestTemplate testRestTemplate;
+    private final ApplicationContext applicationContext;
+    private final JwtAccessProvider accessProvider;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Test task of executor is rendered complete with open session in view switched off")
+    void testTaskIsCompleteWithoutOpenSessionInView() {
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(accessProvider.buildAccessJwt(userService.getByEmail("pet89rov@mail.ru")));
+
+        var response = testRestTemplate.exchange("/rest/v1/tasks/1", HttpMethod.GET,
+                new HttpEntity<>(httpHeaders), TaskDto.class);
+
+        assertSame(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("ivanov123@mail.ru", response.getBody().getAuthor().getEmail());
+        assertEquals("pet89rov@mail.ru", response.getBody().getExecutor().getEmail());
+        assertTrue(meterRegistry.get("hikaricp.connections.usage")
+                .tag("pool", "task-management-pool")
+                .timer()
+                .count() > 0);
+    }
+
+}
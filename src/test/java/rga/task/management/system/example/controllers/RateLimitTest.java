@@ -0,0 +1,84 @@
+package rga.task.management.system.example.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.security.JwtAccessProvider;
+import rga.task.management.system.example.services.common.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:rate_limit_db",
+        "rate-limit.groups.security.capacity=2",
+        "rate-limit.groups.security.refill-per-second=1",
+        "rate-limit.groups.api.capacity=3",
+        "rate-limit.groups.api.refill-per-second=1"
+})
+@DisplayName("Test rate limiting:")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RateLimitTest {
+
+    private final TestRestTemplate testRestTemplate;
+    private final JwtAccessProvider accessProvider;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    private final String REFRESH_URL = "/rest/v1/security/refresh";
+    private final String TASK_URL = "/rest/v1/tasks/1";
+    private final String TOO_MANY_REQUESTS = "{\"url\":\"%s\",\"message\":\"Too many requests. Please try again later\"}";
+
+    private HttpEntity<Void> authorized(String email) {
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(accessProvider.buildAccessJwt(userService.getByEmail(email)));
+        return new HttpEntity<>(httpHeaders);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test security endpoints are limited by remote address")
+    void testSecurityEndpointsAreLimited() {
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        var request = new HttpEntity<>("{\"refreshToken\":\"unknown\"}", httpHeaders);
+
+        assertSame(HttpStatus.UNAUTHORIZED, testRestTemplate.exchange(REFRESH_URL, HttpMethod.POST, request, String.class).getStatusCode());
+        assertSame(HttpStatus.UNAUTHORIZED, testRestTemplate.exchange(REFRESH_URL, HttpMethod.POST, request, String.class).getStatusCode());
+        var limited = testRestTemplate.exchange(REFRESH_URL, HttpMethod.POST, request, String.class);
+
+        assertSame(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        assertEquals("1", limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(TOO_MANY_REQUESTS.formatted(REFRESH_URL), limited.getBody());
+        assertEquals(1, meterRegistry.get("rate.limit.rejected").tag("group", "security").counter().count());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test authenticated requests are limited per user")
+    void testAuthenticatedRequestsAreLimitedPerUser() {
+        var admin = authorized("ivanov123@mail.ru");
+        for (int i = 0; i < 3; i++) {
+            assertSame(HttpStatus.OK, testRestTemplate.exchange(TASK_URL, HttpMethod.GET, admin, String.class).getStatusCode());
+        }
+        var limited = testRestTemplate.exchange(TASK_URL, HttpMethod.GET, admin, String.class);
+
+        assertSame(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        assertNotNull(limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(TOO_MANY_REQUESTS.formatted(TASK_URL), limited.getBody());
+        assertEquals(1, meterRegistry.get("rate.limit.rejected").tag("group", "api").counter().count());
+
+        var anotherUser = authorized("si78dorov@mail.ru");
+        assertNotSame(HttpStatus.TOO_MANY_REQUESTS,
+                testRestTemplate.exchange(TASK_URL, HttpMethod.GET, anotherUser, String.class).getStatusCode());
+    }
+
+}
@@ -0,0 +1,346 @@
+package rga.task.management.system.example.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.configs.AsyncConfig;
+import rga.task.management.system.example.dtos.ResponseMessageDto;
+import rga.task.management.system.example.dtos.TaskAddOrUpdateDto;
+import rga.task.management.system.example.dtos.TaskBatchResultDto;
+import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchDto;
+import rga.task.management.system.example.dtos.TaskStatusBatchResultDto;
+import rga.task.management.system.example.dtos.UserAuthResponseDto;
+import rga.task.management.system.example.enums.Priority;
+import rga.task.management.system.example.enums.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:task_batch_db",
+        "tasks.purge.pool-size=1",
+        "tasks.purge.queue-capacity=0"
+})
+@DisplayName("Test TaskController batch methods:")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskBatchControllerTest {
+
+    private final TestRestTemplate testRestTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier(AsyncConfig.TASK_PURGE_EXECUTOR)
+    private ThreadPoolTaskExecutor taskPurgeExecutor;
+
+    private final String TASKS_BATCH_ENDPOINT = "/rest/v1/tasks/batch";
+    private final String TASKS_STATUS_ENDPOINT = "/rest/v1/tasks/status";
+
+    private HttpHeaders httpHeadersForAdmin;
+    private HttpHeaders httpHeadersForUser;
+
+    @BeforeEach
+    void setUp() {
+        httpHeadersForAdmin = new HttpHeaders();
+        httpHeadersForAdmin.setContentType(MediaType.APPLICATION_JSON);
+        prepareHttpHeaders(httpHeadersForAdmin, "ivanov123@mail.ru", "passwordADMIN");
+
+        httpHeadersForUser = new HttpHeaders();
+        httpHeadersForUser.setContentType(MediaType.APPLICATION_JSON);
+        prepareHttpHeaders(httpHeadersForUser, "pet89rov@mail.ru", "passwordUSER");
+    }
+
+    private void prepareHttpHeaders(HttpHeaders httpHeaders, String email, String password) {
+        var userJwt = getJwt(email, password);
+        httpHeaders.setBearerAuth(userJwt);
+    }
+
+    private String getJwt(String email, String password) {
+        final String AUTH_REQUEST = "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, password);
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        final HttpEntity<String> HTTP_ENTITY = new HttpEntity<>(AUTH_REQUEST, httpHeaders);
+
+        final String AUTH_URL = "/rest/v1/security/auth";
+        ResponseEntity<UserAuthResponseDto> authResponse = testRestTemplate.postForEntity(AUTH_URL, HTTP_ENTITY, UserAuthResponseDto.class);
+        return Objects.requireNonNull(authResponse.getBody()).getJwt();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test add tasks batch by user with role ROLE_ADMIN")
+    void testAddTasksBatchByAdmin() {
+        List<TaskAddOrUpdateDto> dtos = List.of(
+                new TaskAddOrUpdateDto("Batch task 1", "Batch description 1", Status.PENDING, Priority.LOW, "pet89rov@mail.ru"),
+                new TaskAddOrUpdateDto("Batch task 2", "Batch description 2", Status.PENDING, Priority.HIGH, "unknown@mail.ru"),
+                new TaskAddOrUpdateDto("Batch task 3", "Batch description 3", Status.PENDING, Priority.HIGH, "not valid e-mail"),
+                new TaskAddOrUpdateDto(null, "Batch description 4", Status.PENDING, Priority.HIGH, "pet89rov@mail.ru"),
+                new TaskAddOrUpdateDto("Batch task 5", "Batch description 5", Status.IN_PROGRESS, Priority.MEDIUM, "si78dorov@mail.ru")
+        );
+        HttpEntity<List<TaskAddOrUpdateDto>> httpEntity = new HttpEntity<>(dtos, httpHeadersForAdmin);
+        ResponseEntity<List<TaskBatchResultDto>> response = testRestTemplate.exchange(TASKS_BATCH_ENDPOINT,
+                HttpMethod.POST, httpEntity, new ParameterizedTypeReference<>() {});
+
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertEquals(5, response.getBody().size());
+
+        var first = response.getBody().get(0);
+        assertEquals(0, first.getIndex());
+        assertNull(first.getMessage());
+        assertEquals("Batch task 1", first.getTask().getTitle());
+        assertEquals("ivanov123@mail.ru", first.getTask().getAuthor().getEmail());
+        assertEquals("pet89rov@mail.ru", first.getTask().getExecutor().getEmail());
+
+        assertNull(response.getBody().get(1).getTask());
+        assertEquals("User with e-mail unknown@mail.ru is not found", response.getBody().get(1).getMessage());
+        assertEquals("Email not valid e-mail is not valid", response.getBody().get(2).getMessage());
+        assertEquals("Title, description, status, priority and executor's e-mail are required",
+                response.getBody().get(3).getMessage());
+
+        var last = response.getBody().get(4);
+        assertEquals(4, last.getIndex());
+        assertEquals("si78dorov@mail.ru", last.getTask().getExecutor().getEmail());
+        assertTrue(last.getTask().getId() > first.getTask().getId());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test task counters are updated after tasks batch")
+    void testTaskCountersAfterTasksBatch() {
+        HttpEntity<String> httpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> byAuthor = testRestTemplate.exchange("/rest/v1/tasks/author/1?count=approximate",
+                HttpMethod.GET, httpEntity, String.class);
+        ResponseEntity<String> byExecutor = testRestTemplate.exchange("/rest/v1/tasks/executor/3?count=approximate",
+                HttpMethod.GET, httpEntity, String.class);
+
+        assertEquals("5", byAuthor.getHeaders().getFirst("X-Total-Elements-Count"));
+        assertEquals("2", byExecutor.getHeaders().getFirst("X-Total-Elements-Count"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test add tasks batch by user with role ROLE_USER")
+    void testAddTasksBatchByUser() {
+        List<TaskAddOrUpdateDto> dtos = List.of(
+                new TaskAddOrUpdateDto("Batch task", "Batch description", Status.PENDING, Priority.LOW, "pet89rov@mail.ru")
+        );
+        HttpEntity<List<TaskAddOrUpdateDto>> httpEntity = new HttpEntity<>(dtos, httpHeadersForUser);
+        ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange(TASKS_BATCH_ENDPOINT,
+                HttpMethod.POST, httpEntity, ResponseMessageDto.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/batch, message=Access is denied. User does not have permission to create task.)",
+                response.getBody().toString());
+        assertSame(response.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test add empty tasks batch by user with role ROLE_ADMIN")
+    void testAddEmptyTasksBatchByAdmin() {
+        HttpEntity<List<TaskAddOrUpdateDto>> httpEntity = new HttpEntity<>(List.of(), httpHeadersForAdmin);
+        ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange(TASKS_BATCH_ENDPOINT,
+                HttpMethod.POST, httpEntity, ResponseMessageDto.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/batch, message=Batch must contain from 1 to 1000 tasks)",
+                response.getBody().toString());
+        assertSame(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test update several tasks status by executor with role ROLE_USER")
+    void testUpdateTasksStatusByExecutor() {
+        var dto = new TaskStatusBatchDto(List.of(1L, 2L, 3L, 999L), Status.FINISHED);
+        HttpEntity<TaskStatusBatchDto> httpEntity = new HttpEntity<>(dto, httpHeadersForUser);
+        ResponseEntity<TaskStatusBatchResultDto> response = testRestTemplate.exchange(TASKS_STATUS_ENDPOINT,
+                HttpMethod.PUT, httpEntity, TaskStatusBatchResultDto.class);
+
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertEquals(List.of(1L, 3L), response.getBody().getUpdated());
+        assertEquals(List.of(2L, 999L), response.getBody().getDenied());
+
+        ResponseEntity<TaskDto> task = testRestTemplate.exchange("/rest/v1/tasks/1",
+                HttpMethod.GET, new HttpEntity<>(httpHeadersForUser), TaskDto.class);
+        assertNotNull(task.getBody());
+        assertEquals(Status.FINISHED, task.getBody().getStatus());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test update several tasks status by user with role ROLE_ADMIN")
+    void testUpdateTasksStatusByAdmin() {
+        var dto = new TaskStatusBatchDto(List.of(2L, 3L), Status.IN_PROGRESS);
+        HttpEntity<TaskStatusBatchDto> httpEntity = new HttpEntity<>(dto, httpHeadersForAdmin);
+        ResponseEntity<TaskStatusBatchResultDto> response = testRestTemplate.exchange(TASKS_STATUS_ENDPOINT,
+                HttpMethod.PUT, httpEntity, TaskStatusBatchResultDto.class);
+
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertEquals(List.of(2L, 3L), response.getBody().getUpdated());
+        assertEquals(List.of(), response.getBody().getDenied());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Test update several tasks status without status by user with role ROLE_ADMIN")
+    void testUpdateTasksStatusWithoutStatusByAdmin() {
+        var dto = new TaskStatusBatchDto(List.of(1L), null);
+        HttpEntity<TaskStatusBatchDto> httpEntity = new HttpEntity<>(dto, httpHeadersForAdmin);
+        ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange(TASKS_STATUS_ENDPOINT,
+                HttpMethod.PUT, httpEntity, ResponseMessageDto.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/status, message=Status and from 1 to 1000 task ids are required)",
+                response.getBody().toString());
+        assertSame(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Test delete task with comments by user with role ROLE_ADMIN")
+    void testDeleteTaskWithCommentsByAdmin() {
+        HttpEntity<String> httpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> response = testRestTemplate.exchange("/rest/v1/tasks/2",
+                HttpMethod.DELETE, httpEntity, String.class);
+
+        assertSame(response.getStatusCode(), HttpStatus.NO_CONTENT);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE task_id = 2", Integer.class));
+        ResponseEntity<String> byExecutor = testRestTemplate.exchange("/rest/v1/tasks/executor/3?count=approximate",
+                HttpMethod.GET, httpEntity, String.class);
+        assertEquals("1", byExecutor.getHeaders().getFirst("X-Total-Elements-Count"));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Test purge task with many comments by user with role ROLE_ADMIN")
+    void testPurgeTaskWithManyCommentsByAdmin() throws InterruptedException {
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, content, task_id, commentator_id) VALUES (?, ?, ?, ?)",
+                IntStream.range(0, 2500)
+                        .mapToObj(i -> new Object[]{1_000_000L + i, "Content " + i, 1L, 2L})
+                        .toList());
+
+        HttpEntity<String> httpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> response = testRestTemplate.exchange("/rest/v1/tasks/1/purge",
+                HttpMethod.DELETE, httpEntity, String.class);
+        assertSame(response.getStatusCode(), HttpStatus.ACCEPTED);
+
+        HttpStatusCode status = HttpStatus.OK;
+        for (int attempt = 0; attempt < 100 && status != HttpStatus.NOT_FOUND; attempt++) {
+            Thread.sleep(100);
+            status = testRestTemplate.exchange("/rest/v1/tasks/1", HttpMethod.GET, httpEntity, String.class).getStatusCode();
+        }
+        assertSame(HttpStatus.NOT_FOUND, status);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE task_id = 1", Integer.class));
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Test purge task by user with role ROLE_USER")
+    void testPurgeTaskByUser() {
+        HttpEntity<String> httpEntity = new HttpEntity<>(httpHeadersForUser);
+        ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange("/rest/v1/tasks/3/purge",
+                HttpMethod.DELETE, httpEntity, ResponseMessageDto.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/3/purge, message=Access denied. User does not have the required permissions to delete task)",
+                response.getBody().toString());
+        assertSame(response.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Test purge task is rejected with 503 when purge executor is full")
+    void testPurgeTaskRejectedWhenExecutorIsFull() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        taskPurgeExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            HttpEntity<String> httpEntity = new HttpEntity<>(httpHeadersForAdmin);
+            ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange("/rest/v1/tasks/3/purge",
+                    HttpMethod.DELETE, httpEntity, ResponseMessageDto.class);
+
+            assertNotNull(response.getBody());
+            assertEquals("ResponseMessageDto(url=/rest/v1/tasks/3/purge, message=Too many tasks are being purged. Please try again later)",
+                    response.getBody().toString());
+            assertSame(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+            assertSame(HttpStatus.OK, testRestTemplate.exchange("/rest/v1/tasks/3", HttpMethod.GET, httpEntity, String.class)
+                    .getStatusCode());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Test task counters are decremented once when the same task is deleted concurrently")
+    void testTaskCountersAfterConcurrentDeletes() throws Exception {
+        Long taskId = jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE title = 'Batch task 1'", Long.class);
+        long authored = authoredTasks(1L);
+        long executed = executedTasks(2L);
+
+        HttpEntity<String> httpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        var start = new CountDownLatch(1);
+        var deletes = IntStream.range(0, 2)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return testRestTemplate.exchange("/rest/v1/tasks/" + taskId, HttpMethod.DELETE, httpEntity, String.class)
+                            .getStatusCode();
+                }))
+                .toList();
+        start.countDown();
+        var statuses = new ArrayList<HttpStatusCode>();
+        for (var delete : deletes) {
+            statuses.add(delete.get(10, TimeUnit.SECONDS));
+        }
+        var again = testRestTemplate.exchange("/rest/v1/tasks/" + taskId, HttpMethod.DELETE, httpEntity, String.class);
+
+        assertTrue(statuses.containsAll(List.of(HttpStatus.NO_CONTENT, HttpStatus.NOT_FOUND)), statuses.toString());
+        assertSame(HttpStatus.NOT_FOUND, again.getStatusCode());
+        assertEquals(authored - 1, authoredTasks(1L));
+        assertEquals(executed - 1, executedTasks(2L));
+    }
+
+    private long authoredTasks(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT authored_tasks FROM task_counters WHERE user_id = ?", Long.class, userId);
+    }
+
+    private long executedTasks(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT executed_tasks FROM task_counters WHERE user_id = ?", Long.class, userId);
+    }
+}
@@ -181,6 +181,109 @@ public class TaskControllerTest {
         assertSame(response.getStatusCode(), HttpStatus.OK);
     }
 
+    @Test
+    @Order(35)
+    @DisplayName("Test get sorted tasks page (by executor id) by user with role ROLE_ADMIN")
+    void testGetSortedTasksPageByExecutorIdByAdmin(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> response = testRestTemplate.exchange(TASKS_ENDPOINT + "/executor/2?sort=title,desc", HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().startsWith("[{\"id\":3,\"title\":\"Task 3\""));
+        assertTrue(response.getBody().contains("{\"id\":1,\"title\":\"Task 1\""));
+        assertTrue(response.getBody().contains(",\"Author\":{\"id\":1,\"e-mail\":\"ivanov123@mail.ru\",\"user role\":\"ROLE_ADMIN\"},\"Executor\":{\"id\":2,\"e-mail\":\"pet89rov@mail.ru\",\"user role\":\"ROLE_USER\"}}]"));
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    @Order(36)
+    @DisplayName("Test get tasks pages (by executor id) in cursor mode by tasks executor with role ROLE_USER")
+    void testGetTasksPagesByExecutorIdInCursorModeByTasksExecutor(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForUser);
+        ResponseEntity<String> firstResponse = testRestTemplate.exchange(TASKS_ENDPOINT + "/executor/2?cursor=&size=1", HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(firstResponse.getBody());
+        assertTrue(firstResponse.getBody().startsWith("[{\"id\":1,\"title\":\"Task 1\""));
+        assertFalse(firstResponse.getBody().contains("\"id\":3"));
+        assertFalse(firstResponse.getHeaders().containsKey("X-Total-Elements-Count"));
+        String nextCursor = firstResponse.getHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(nextCursor);
+        assertSame(firstResponse.getStatusCode(), HttpStatus.OK);
+
+        ResponseEntity<String> secondResponse = testRestTemplate.exchange(TASKS_ENDPOINT + "/executor/2?size=1&cursor=" + nextCursor, HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(secondResponse.getBody());
+        assertTrue(secondResponse.getBody().startsWith("[{\"id\":3,\"title\":\"Task 3\""));
+        assertFalse(secondResponse.getHeaders().containsKey("X-Next-Cursor"));
+        assertSame(secondResponse.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("Test get tasks page (by executor id) with invalid cursor by user with role ROLE_ADMIN")
+    void testGetTasksPageByExecutorIdWithInvalidCursorByAdmin(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange(TASKS_ENDPOINT + "/executor/2?cursor=abc", HttpMethod.GET, stringHttpEntity, ResponseMessageDto.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/executor/2, message=Invalid cursor abc has been provided)", response.getBody().toString());
+        assertSame(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @Order(38)
+    @DisplayName("Test get tasks page (by executor id) with exact count by user with role ROLE_ADMIN")
+    void testGetTasksPageByExecutorIdWithExactCountByAdmin(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> response = testRestTemplate.exchange(TASKS_ENDPOINT + "/executor/2?size=1", HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("2", response.getHeaders().getFirst("X-Total-Elements-Count"));
+        assertEquals("2", response.getHeaders().getFirst("X-Total-Pages"));
+        assertEquals("1", response.getHeaders().getFirst("X-Current-Page"));
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    @Order(39)
+    @DisplayName("Test get tasks page (by executor id) without count by user with role ROLE_ADMIN")
+    void testGetTasksPageByExecutorIdWithoutCountByAdmin(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> response = testRestTemplate.exchange(TASKS_ENDPOINT + "/executor/2?size=1&count=false", HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().startsWith("[{\"id\":1,\"title\":\"Task 1\""));
+        assertFalse(response.getHeaders().containsKey("X-Total-Elements-Count"));
+        assertEquals("true", response.getHeaders().getFirst("X-Has-Next-Page"));
+        assertEquals("1", response.getHeaders().getFirst("X-Current-Page"));
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Test get tasks page (by author id) with approximate count by user with role ROLE_ADMIN")
+    void testGetTasksPageByAuthorIdWithApproximateCountByAdmin(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<String> response = testRestTemplate.exchange(TASKS_ENDPOINT + "/author/1?size=2&count=approximate", HttpMethod.GET, stringHttpEntity, String.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("3", response.getHeaders().getFirst("X-Total-Elements-Count"));
+        assertEquals("2", response.getHeaders().getFirst("X-Total-Pages"));
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Test get tasks page (by author id) with invalid count mode by user with role ROLE_ADMIN")
+    void testGetTasksPageByAuthorIdWithInvalidCountModeByAdmin(){
+        HttpEntity<String> stringHttpEntity = new HttpEntity<>(httpHeadersForAdmin);
+        ResponseEntity<ResponseMessageDto> response = testRestTemplate.exchange(TASKS_ENDPOINT + "/author/1?count=maybe", HttpMethod.GET, stringHttpEntity, ResponseMessageDto.class);
+
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/author/1, message=Invalid count mode maybe has been provided)", response.getBody().toString());
+        assertSame(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     @Order(32)
     @DisplayName("Test get tasks page (by executor id) by not tasks executor with role ROLE_USER")
@@ -0,0 +1,164 @@
+package rga.task.management.system.example.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.TaskAddOrUpdateDto;
+import rga.task.management.system.example.enums.Priority;
+import rga.task.management.system.example.enums.Status;
+import rga.task.management.system.example.security.JwtAccessProvider;
+import rga.task.management.system.example.services.common.TaskEventService;
+import rga.task.management.system.example.services.common.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = "spring.datasource.url=jdbc:h2:mem:task_events_db")
+@DisplayName("Test task events stream:")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskEventsTest {
+
+    private final TestRestTemplate testRestTemplate;
+    private final JwtAccessProvider accessProvider;
+    private final UserService userService;
+    private final TaskEventService eventService;
+    private final MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    private String jwt(String email) {
+        return accessProvider.buildAccessJwt(userService.getByEmail(email));
+    }
+
+    private HttpHeaders adminHeaders() {
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(jwt("ivanov123@mail.ru"));
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        return httpHeaders;
+    }
+
+    private void updateStatus(long taskId, String status) {
+        var response = testRestTemplate.exchange("/rest/v1/tasks/" + taskId + "/status", HttpMethod.PUT,
+                new HttpEntity<>("\"" + status + "\"", adminHeaders()), String.class);
+        assertSame(HttpStatus.OK, response.getStatusCode());
+    }
+
+    /**
+     * Reading the next event of the stream, comments (subscription confirmation, heartbeats) are skipped
+     * @param lines - lines of the stream
+     * @return "event name data" of the next event
+     */
+    private String nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        String name = null;
+        String line;
+        while ((line = lines.poll(10, TimeUnit.SECONDS)) != null) {
+            if (line.startsWith("event:")) {
+                name = line.substring("event:".length());
+            } else if (line.startsWith("data:") && name != null) {
+                return name + " " + line.substring("data:".length());
+            }
+        }
+        return fail("No event has been received");
+    }
+
+    /**
+     * Subscribing user to task events
+     * @param email - e-mail of user
+     * @param lines - queue the lines of the stream are added to
+     * @return response with the stream
+     */
+    private HttpResponse<Stream<String>> subscribe(String email, BlockingQueue<String> lines) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/rest/v1/tasks/events"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt(email))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        CompletableFuture<HttpResponse<Stream<String>>> stream = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        var response = stream.get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test executor receives events of his/her tasks only, after commit")
+    void testExecutorReceivesEventsOfHisTasks() throws Exception {
+        var lines = new LinkedBlockingQueue<String>();
+        var response = subscribe("pet89rov@mail.ru", lines);
+        var reader = CompletableFuture.runAsync(() -> response.body().forEach(lines::add));
+        try {
+            assertEquals(":subscribed", lines.poll(10, TimeUnit.SECONDS));
+            assertEquals(1, eventService.getSubscribersCount());
+            assertEquals(1, meterRegistry.get("tasks.events.subscribers").gauge().value());
+
+            // task 2 is executed by another user
+            updateStatus(2, "FINISHED");
+            updateStatus(1, "IN_PROGRESS");
+            assertEquals("STATUS_CHANGED {\"type\":\"STATUS_CHANGED\",\"taskId\":1,\"executorId\":2,\"status\":\"IN_PROGRESS\"}",
+                    nextEvent(lines));
+
+            var comment = testRestTemplate.exchange("/rest/v1/comments/task/3", HttpMethod.POST,
+                    new HttpEntity<>("New content", adminHeaders()), String.class);
+            assertSame(HttpStatus.CREATED, comment.getStatusCode());
+            var event = nextEvent(lines);
+            assertTrue(event.startsWith("COMMENT_ADDED {\"type\":\"COMMENT_ADDED\",\"taskId\":3,\"executorId\":2,\"commentId\":"),
+                    event);
+        } finally {
+            reader.cancel(true);
+            response.body().close();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test previous executor receives unassignment event when task is reassigned")
+    void testPreviousExecutorReceivesUnassignment() throws Exception {
+        var previousLines = new LinkedBlockingQueue<String>();
+        var nextLines = new LinkedBlockingQueue<String>();
+        var previous = subscribe("pet89rov@mail.ru", previousLines);
+        var next = subscribe("si78dorov@mail.ru", nextLines);
+        var previousReader = CompletableFuture.runAsync(() -> previous.body().forEach(previousLines::add));
+        var nextReader = CompletableFuture.runAsync(() -> next.body().forEach(nextLines::add));
+        try {
+            assertEquals(":subscribed", previousLines.poll(10, TimeUnit.SECONDS));
+            assertEquals(":subscribed", nextLines.poll(10, TimeUnit.SECONDS));
+
+            var dto = new TaskAddOrUpdateDto("Reassigned task", "Reassigned description",
+                    Status.PENDING, Priority.LOW, "si78dorov@mail.ru");
+            var update = testRestTemplate.exchange("/rest/v1/tasks/3", HttpMethod.PUT,
+                    new HttpEntity<>(dto, adminHeaders()), String.class);
+            assertSame(HttpStatus.OK, update.getStatusCode());
+
+            assertEquals("TASK_UNASSIGNED {\"type\":\"TASK_UNASSIGNED\",\"taskId\":3,\"executorId\":2}",
+                    nextEvent(previousLines));
+            assertEquals("TASK_UPDATED {\"type\":\"TASK_UPDATED\",\"taskId\":3,\"executorId\":3,\"status\":\"PENDING\"}",
+                    nextEvent(nextLines));
+        } finally {
+            previousReader.cancel(true);
+            nextReader.cancel(true);
+            previous.body().close();
+            next.body().close();
+        }
+    }
+
+}
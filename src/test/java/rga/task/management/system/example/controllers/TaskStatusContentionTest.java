@@ -0,0 +1,140 @@
+package rga.task.management.system.example.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.ResponseMessageDto;
+import rga.task.management.system.example.dtos.TaskDto;
+import rga.task.management.system.example.enums.Status;
+import rga.task.management.system.example.security.JwtAccessProvider;
+import rga.task.management.system.example.services.common.UserService;
+
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conditional (If-Match) task updates and contention benchmark: several executors flip status of the same task
+ * concurrently, each flip is based on the version it has read and is retried when the task has been modified,
+ * so every successful flip increments the version exactly once
+ */
+@Slf4j
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = "spring.datasource.url=jdbc:h2:mem:contention_db")
+@DisplayName("Test conditional task updates:")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskStatusContentionTest {
+
+    private static final String TASK_URL = "/rest/v1/tasks/1";
+    private static final int THREADS = 4;
+    private static final int UPDATES_PER_THREAD = 5;
+
+    private final TestRestTemplate testRestTemplate;
+    private final JwtAccessProvider accessProvider;
+    private final UserService userService;
+
+    private HttpHeaders executorHeaders(String ifMatch) {
+        var httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(accessProvider.buildAccessJwt(userService.getByEmail("pet89rov@mail.ru")));
+        if (ifMatch != null) {
+            httpHeaders.setIfMatch(ifMatch);
+        }
+        return httpHeaders;
+    }
+
+    private ResponseEntity<TaskDto> getTask() {
+        return testRestTemplate.exchange(TASK_URL, HttpMethod.GET, new HttpEntity<>(executorHeaders(null)), TaskDto.class);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test task is returned with its version as ETag and updated when If-Match is current")
+    void testUpdateWithCurrentVersion() {
+        var task = getTask();
+        assertSame(HttpStatus.OK, task.getStatusCode());
+        assertNotNull(task.getBody());
+        var version = task.getBody().getVersion();
+        assertEquals("\"" + version + "\"", task.getHeaders().getETag());
+
+        var response = testRestTemplate.exchange(TASK_URL + "/status", HttpMethod.PUT,
+                new HttpEntity<>(Status.IN_PROGRESS, executorHeaders(task.getHeaders().getETag())), TaskDto.class);
+
+        assertSame(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(Status.IN_PROGRESS, response.getBody().getStatus());
+        assertEquals(version + 1, response.getBody().getVersion());
+        assertEquals("\"" + (version + 1) + "\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test update based on stale version is rejected with 412")
+    void testUpdateWithStaleVersion() {
+        var version = getTask().getBody().getVersion();
+
+        var response = testRestTemplate.exchange(TASK_URL + "/status", HttpMethod.PUT,
+                new HttpEntity<>(Status.FINISHED, executorHeaders("\"" + (version - 1) + "\"")), ResponseMessageDto.class);
+
+        assertSame(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("ResponseMessageDto(url=/rest/v1/tasks/1/status, message=Task with id 1 has been modified. " +
+                "Current version is " + version + ")", response.getBody().toString());
+        assertEquals(version, getTask().getBody().getVersion());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test concurrent status flips lose no update")
+    void testConcurrentStatusFlips() throws Exception {
+        var initialVersion = getTask().getBody().getVersion();
+        var retries = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(THREADS);
+        var futures = new ArrayList<Future<?>>();
+        var startedAt = System.nanoTime();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int done = 0; done < UPDATES_PER_THREAD; ) {
+                        var task = getTask();
+                        var status = task.getBody().getStatus() == Status.PENDING ? Status.IN_PROGRESS : Status.PENDING;
+                        var response = testRestTemplate.exchange(TASK_URL + "/status", HttpMethod.PUT,
+                                new HttpEntity<>(status, executorHeaders(task.getHeaders().getETag())), String.class);
+                        if (response.getStatusCode() == HttpStatus.OK) {
+                            done++;
+                        } else {
+                            assertTrue(response.getStatusCode() == HttpStatus.PRECONDITION_FAILED
+                                    || response.getStatusCode() == HttpStatus.CONFLICT, response.toString());
+                            retries.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        var updates = THREADS * UPDATES_PER_THREAD;
+        assertEquals(initialVersion + updates, getTask().getBody().getVersion());
+        log.info("{} contended status updates by {} executors took {} ms with {} retries ({} per update)",
+                updates, THREADS, elapsedMillis, retries.get(), String.format("%.2f", (double) retries.get() / updates));
+    }
+
+}
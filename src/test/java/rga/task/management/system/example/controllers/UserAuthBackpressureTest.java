@@ -0,0 +1,134 @@
+package rga.task.management.system.example.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.configs.AsyncConfig;
+import rga.task.management.system.example.dtos.ResponseMessageDto;
+import rga.task.management.system.example.dtos.UserAuthResponseDto;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:auth_backpressure_db",
+        "auth.password-verification.pool-size=1",
+        "auth.password-verification.queue-capacity=0",
+        "auth.tokens.pool-size=1",
+        "auth.tokens.queue-capacity=0"
+})
+@DisplayName("Test UserAuthController under login burst:")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserAuthBackpressureTest {
+
+    private final String AUTH_URL = "/rest/v1/security/auth";
+    private final String AUTH_REQUEST = "{\"email\":\"ivanov123@mail.ru\",\"password\":\"passwordADMIN\"}";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    @Qualifier(AsyncConfig.PASSWORD_VERIFICATION_EXECUTOR)
+    private ThreadPoolTaskExecutor passwordVerificationExecutor;
+
+    @Autowired
+    @Qualifier(AsyncConfig.AUTH_TOKENS_EXECUTOR)
+    private ThreadPoolTaskExecutor authTokensExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HttpEntity<String> authRequest() {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(AUTH_REQUEST, httpHeaders);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test authentication is rejected with 503 when password verification executor is full")
+    void testAuthenticationRejectedWhenExecutorIsFull() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        passwordVerificationExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            ResponseEntity<ResponseMessageDto> response = testRestTemplate.postForEntity(AUTH_URL, authRequest(), ResponseMessageDto.class);
+
+            assertNotNull(response.getBody());
+            assertEquals("ResponseMessageDto(url=/rest/v1/security/auth, message=Too many authentication requests. Please try again later)",
+                    response.getBody().toString());
+            assertSame(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+            assertEquals(1, meterRegistry.get("auth.password.verification.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test authentication succeeds when password verification executor is free again")
+    void testAuthenticationWhenExecutorIsFree() throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && passwordVerificationExecutor.getActiveCount() > 0; attempt++) {
+            Thread.sleep(100);
+        }
+        ResponseEntity<UserAuthResponseDto> response = testRestTemplate.postForEntity(AUTH_URL, authRequest(), UserAuthResponseDto.class);
+
+        assertNotNull(response.getBody());
+        assertNotNull(response.getBody().getJwt());
+        assertSame(response.getStatusCode(), HttpStatus.OK);
+        assertTrue(meterRegistry.get("auth.password.verification").timer().count() >= 1);
+        assertNotNull(meterRegistry.get("executor.queue.remaining")
+                .tag("name", AsyncConfig.PASSWORD_VERIFICATION_EXECUTOR)
+                .gauge());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test verified authentication is rejected with 503 when auth tokens executor is full")
+    void testAuthenticationRejectedWhenTokensExecutorIsFull() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        authTokensExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        try {
+            ResponseEntity<ResponseMessageDto> response = testRestTemplate.postForEntity(AUTH_URL, authRequest(), ResponseMessageDto.class);
+
+            assertNotNull(response.getBody());
+            assertEquals("ResponseMessageDto(url=/rest/v1/security/auth, message=Too many authentication requests. Please try again later)",
+                    response.getBody().toString());
+            assertSame(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+            assertEquals(1, meterRegistry.get("auth.tokens.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -27,6 +27,7 @@ class UserAuthControllerTest {
 
     private final String AUTH_URL = "/rest/v1/security/auth";
     private final String REGISTER_URL = "/rest/v1/security/register";
+    private final String REFRESH_URL = "/rest/v1/security/refresh";
 
     private String request = "{\"email\":\"%s\",\"password\":\"%s\"}";
 
@@ -63,6 +64,7 @@ class UserAuthControllerTest {
 
         assertNotNull(authResponse.getBody());
         assertNotNull(authResponse.getBody().getJwt());
+        assertNotNull(authResponse.getBody().getRefreshToken());
         assertSame(authResponse.getStatusCode(), HttpStatus.OK);
     }
 
@@ -147,4 +149,42 @@ class UserAuthControllerTest {
         assertSame(authResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    @Order(30)
+    @DisplayName("Test refresh JWT with valid refresh token, then with already used one")
+    void testRefreshWithValidAndUsedRefreshToken() {
+        var authRequest = new HttpEntity<>(request.formatted("ivanov123@mail.ru", "passwordADMIN"), headers);
+        var authResponse = testRestTemplate.postForEntity(AUTH_URL, authRequest, UserAuthResponseDto.class);
+        assertNotNull(authResponse.getBody());
+        var refreshRequest = new HttpEntity<>("{\"refreshToken\":\"%s\"}"
+                .formatted(authResponse.getBody().getRefreshToken()), headers);
+
+        var refreshResponse = testRestTemplate.postForEntity(REFRESH_URL, refreshRequest, UserAuthResponseDto.class);
+
+        assertNotNull(refreshResponse.getBody());
+        assertNotNull(refreshResponse.getBody().getJwt());
+        assertNotNull(refreshResponse.getBody().getRefreshToken());
+        assertNotEquals(authResponse.getBody().getRefreshToken(), refreshResponse.getBody().getRefreshToken());
+        assertSame(refreshResponse.getStatusCode(), HttpStatus.OK);
+
+        var reusedResponse = testRestTemplate.exchange(REFRESH_URL, HttpMethod.POST, refreshRequest, String.class);
+
+        assertEquals("{\"url\":\"/rest/v1/security/refresh\"," +
+                "\"message\":\"Invalid or expired refresh token has been provided\"}", reusedResponse.getBody());
+        assertSame(reusedResponse.getStatusCode(), HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @Order(31)
+    @DisplayName("Test refresh JWT with unknown refresh token")
+    void testRefreshWithUnknownRefreshToken() {
+        var refreshRequest = new HttpEntity<>("{\"refreshToken\":\"unknown\"}", headers);
+
+        var refreshResponse = testRestTemplate.exchange(REFRESH_URL, HttpMethod.POST, refreshRequest, String.class);
+
+        assertEquals("{\"url\":\"/rest/v1/security/refresh\"," +
+                "\"message\":\"Invalid or expired refresh token has been provided\"}", refreshResponse.getBody());
+        assertSame(refreshResponse.getStatusCode(), HttpStatus.UNAUTHORIZED);
+    }
+
 }
@@ -0,0 +1,71 @@
+package rga.task.management.system.example.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import rga.task.management.system.example.entities.Comment;
+import rga.task.management.system.example.entities.Task;
+import rga.task.management.system.example.entities.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that comments cascaded from {@link Task#getComments()} are inserted in JDBC batches
+ * with pooled sequence allocation instead of one {@code nextval} and one {@code insert} per row
+ */
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch_insert_db",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Test batch insert of comments:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest
+class CommentBatchInsertTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+
+    private static final int COMMENTS_COUNT = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Test
+    @DisplayName("Test cascaded comments are inserted in batches")
+    void insertCommentsInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long commentsBefore = commentRepository.count();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(1L).orElseThrow();
+            User commentator = task.getAuthor();
+            for (int i = 0; i < COMMENTS_COUNT; i++) {
+                Comment comment = new Comment();
+                comment.setContent("Batch comment " + i);
+                comment.setTask(task);
+                comment.setCommentator(commentator);
+                task.getComments().add(comment);
+            }
+        });
+
+        long statements = statistics.getPrepareStatementCount();
+        long rowByRowStatements = 2L * COMMENTS_COUNT;
+        long expectedStatements = 2L * COMMENTS_COUNT / BATCH_SIZE + 3;
+
+        assertEquals(COMMENTS_COUNT, statistics.getEntityInsertCount());
+        assertEquals(commentsBefore + COMMENTS_COUNT, commentRepository.count());
+        assertTrue(statements <= expectedStatements,
+                "%d statements prepared for %d comments (row by row: %d)"
+                        .formatted(statements, COMMENTS_COUNT, rowByRowStatements));
+    }
+}
@@ -0,0 +1,178 @@
+package rga.task.management.system.example.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression test for the access paths of the {@link TaskRepository} and {@link CommentRepository} queries.
+ * Repository methods are called and the statements Hibernate has actually emitted (captured by statement inspector)
+ * are explained: every keyset query must be served by a seek on its composite index,
+ * every page and count query by a seek on the index of the filtered foreign key,
+ * every access-checking lookup by a seek on the primary key of its table.
+ * Comments are added beforehand, so that the planner chooses among indexes as it does for a non-trivial table
+ */
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plan_db",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "rga.task.management.system.example.repositories.QueryPlanTest$CapturingStatementInspector"
+})
+@DisplayName("Test repository query plans:")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest
+class QueryPlanTest {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+
+    private static final String TASKS_BY_AUTHOR_INDEX = "IDX_TASKS_AUTHOR_ID_TIMESTAMP_ID";
+    private static final String TASKS_BY_EXECUTOR_INDEX = "IDX_TASKS_EXECUTOR_ID_TIMESTAMP_ID";
+    private static final String COMMENTS_BY_TASK_INDEX = "IDX_COMMENTS_TASK_ID_TIMESTAMP_ID";
+    private static final String TASKS_AUTHOR_FOREIGN_KEY = "FK_TASKS_AUTHOR_ID";
+    private static final String TASKS_EXECUTOR_FOREIGN_KEY = "FK_TASKS_EXECUTOR_ID";
+    private static final String COMMENTS_TASK_FOREIGN_KEY = "FK_COMMENTS_TASK_ID";
+    private static final String PRIMARY_KEY_OF = "PRIMARY KEY OF ";
+    private static final String TASKS_PRIMARY_KEY = PRIMARY_KEY_OF + "TASKS";
+    private static final String COMMENTS_PRIMARY_KEY = PRIMARY_KEY_OF + "COMMENTS";
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "timestamp", "id");
+    private static final Timestamp POSITION = Timestamp.valueOf("2025-01-01 00:00:00");
+
+    /**
+     * Capturing SQL of every statement prepared by Hibernate
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    interface RepositoryCall {
+        void call(TaskRepository taskRepository, CommentRepository commentRepository);
+    }
+
+    @BeforeAll
+    void addComments() {
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, content, task_id, commentator_id, timestamp) VALUES (?, ?, ?, ?, ?)",
+                IntStream.range(0, 3000)
+                        .mapToObj(i -> new Object[]{1_000_000L + i, "Content " + i, 1L + i % 3, 2L, new Timestamp(1_000L * i)})
+                        .toList());
+    }
+
+    private static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of("TaskRepository.findAllByAuthorId", (RepositoryCall) (tasks, comments) ->
+                                tasks.findAllByAuthorId(1L, PageRequest.of(0, 1, DEFAULT_SORT)),
+                        List.of(TASKS_AUTHOR_FOREIGN_KEY, TASKS_AUTHOR_FOREIGN_KEY)),
+                Arguments.of("TaskRepository.findAllByAuthorIdAfter", (RepositoryCall) (tasks, comments) ->
+                                tasks.findAllByAuthorIdAfter(1L, POSITION, 1L, Limit.of(11)),
+                        List.of(TASKS_BY_AUTHOR_INDEX)),
+                Arguments.of("TaskRepository.findAllByExecutorId", (RepositoryCall) (tasks, comments) ->
+                                tasks.findAllByExecutorId(2L, PageRequest.of(0, 1, DEFAULT_SORT)),
+                        List.of(TASKS_EXECUTOR_FOREIGN_KEY, TASKS_EXECUTOR_FOREIGN_KEY)),
+                Arguments.of("TaskRepository.findAllByExecutorIdAfter", (RepositoryCall) (tasks, comments) ->
+                                tasks.findAllByExecutorIdAfter(2L, POSITION, 1L, Limit.of(11)),
+                        List.of(TASKS_BY_EXECUTOR_INDEX)),
+                Arguments.of("CommentRepository.findAllByTaskId", (RepositoryCall) (tasks, comments) ->
+                                comments.findAllByTaskId(3L, PageRequest.of(0, 1, DEFAULT_SORT)),
+                        List.of(COMMENTS_TASK_FOREIGN_KEY, COMMENTS_TASK_FOREIGN_KEY)),
+                Arguments.of("CommentRepository.findAllByTaskIdAfter", (RepositoryCall) (tasks, comments) ->
+                                comments.findAllByTaskIdAfter(3L, POSITION, 1L, Limit.of(11)),
+                        List.of(COMMENTS_BY_TASK_INDEX)),
+                Arguments.of("TaskRepository.findByIdAndExecutorId", (RepositoryCall) (tasks, comments) ->
+                                tasks.findByIdAndExecutorId(1L, 2L),
+                        List.of(TASKS_PRIMARY_KEY)),
+                Arguments.of("TaskRepository.existsAccessibleById", (RepositoryCall) (tasks, comments) ->
+                                tasks.existsAccessibleById(1L, 2L, false),
+                        List.of(TASKS_PRIMARY_KEY)),
+                Arguments.of("TaskRepository.findAccessibleRevisionById", (RepositoryCall) (tasks, comments) ->
+                                tasks.findAccessibleRevisionById(1L, 2L, false),
+                        List.of(TASKS_PRIMARY_KEY)),
+                Arguments.of("CommentRepository.findByIdAndCommentatorId", (RepositoryCall) (tasks, comments) ->
+                                comments.findByIdAndCommentatorId(1L, 2L),
+                        List.of(COMMENTS_PRIMARY_KEY))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @DisplayName("Test SQL emitted by repository method is served by index seek")
+    void queryUsesIndex(String query, RepositoryCall call, List<String> expectedIndexes) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> call.call(taskRepository, commentRepository));
+        var statements = List.copyOf(CapturingStatementInspector.STATEMENTS);
+
+        assertEquals(expectedIndexes.size(), statements.size(), query + " has emitted " + statements);
+        for (int i = 0; i < statements.size(); i++) {
+            var plan = explain(statements.get(i));
+            var index = indexName(expectedIndexes.get(i));
+
+            assertNotNull(plan);
+            assertFalse(plan.contains("tableScan"), query + " falls back to a table scan:\n" + plan);
+            assertTrue(plan.contains("/* PUBLIC." + index + ": "), query + " is not served by " + index + ":\n" + plan);
+        }
+    }
+
+    /**
+     * Explaining captured statement, its parameters are left unbound (null), so the plan does not depend on them
+     * @param sql - statement emitted by Hibernate
+     * @return plan
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("EXPLAIN " + sql);
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            return statement;
+        }, resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+    }
+
+    /**
+     * Resolving name of index, the ones of primary and foreign keys are named by H2 itself
+     * @param expected - index name, foreign key name or "PRIMARY KEY OF table"
+     * @return index name
+     */
+    private String indexName(String expected) {
+        if (expected.startsWith(PRIMARY_KEY_OF)) {
+            return jdbcTemplate.queryForObject("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                            "WHERE TABLE_NAME = ? AND CONSTRAINT_TYPE = 'PRIMARY KEY'",
+                    String.class, expected.substring(PRIMARY_KEY_OF.length()));
+        }
+        return jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                        "WHERE CONSTRAINT_NAME = ?", String.class, expected).stream()
+                .findFirst()
+                .orElse(expected);
+    }
+}
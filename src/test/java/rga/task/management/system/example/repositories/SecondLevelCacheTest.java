@@ -0,0 +1,82 @@
+package rga.task.management.system.example.repositories;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import rga.task.management.system.example.configs.HibernateCacheConfig;
+import rga.task.management.system.example.entities.Task;
+import rga.task.management.system.example.services.common.TaskService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = "spring.datasource.url=jdbc:h2:mem:second_level_cache_db")
+@DisplayName("Test Hibernate second-level cache:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private final TaskRepository taskRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TaskService taskService;
+
+    @Test
+    @DisplayName("Test task with its lazy author and executor is resolved from memory")
+    void testTaskAuthorAndExecutorFromCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> touchTask(3L));
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            var task = touchTask(3L);
+            assertEquals("ivanov123@mail.ru", task.getAuthor().getEmail());
+            assertEquals("pet89rov@mail.ru", task.getExecutor().getEmail());
+        });
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.TASKS_REGION).getHitCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USERS_REGION).getHitCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.USERS_REGION)
+                .tag("result", "hit")
+                .functionCounter()
+                .count() >= 2);
+    }
+
+    @Test
+    @DisplayName("Test marking comments of a task modified keeps other tasks cached and the task version intact")
+    void testCommentsVersionIncrementKeepsRegion() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> touchTask(3L));
+        var before = transactionTemplate.execute(status -> taskRepository.findById(1L).orElseThrow());
+
+        transactionTemplate.executeWithoutResult(status -> taskService.markCommentsModified(1L));
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> touchTask(3L));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        var after = transactionTemplate.execute(status -> taskRepository.findById(1L).orElseThrow());
+        assertEquals(before.getCommentsVersion() + 1, after.getCommentsVersion());
+        assertEquals(before.getVersion(), after.getVersion());
+        assertEquals(before.getModifiedAt(), after.getModifiedAt());
+    }
+
+    private Task touchTask(Long id) {
+        var task = taskRepository.findById(id).orElseThrow();
+        task.getAuthor().getEmail();
+        task.getExecutor().getEmail();
+        return task;
+    }
+}
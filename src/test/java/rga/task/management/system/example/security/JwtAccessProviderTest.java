@@ -0,0 +1,56 @@
+package rga.task.management.system.example.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import rga.task.management.system.example.entities.User;
+import rga.task.management.system.example.enums.Role;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test JwtAccessProvider verified tokens cache:")
+class JwtAccessProviderTest {
+
+    private static final String SECRET = "mysecret46e5g4w64g64gr5g4ggihihihiojhkjkldwhhihyihojwfnlkn787wcHHhfhbfhf888";
+
+    private JwtAccessProvider provider;
+    private String jwt;
+
+    @BeforeEach
+    void setUp() {
+        provider = new JwtAccessProvider();
+        ReflectionTestUtils.setField(provider, "accessSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "expirationTime", "7200");
+        ReflectionTestUtils.setField(provider, "cacheEnabled", true);
+        ReflectionTestUtils.setField(provider, "cacheMaximumSize", 10_000L);
+        provider.init();
+
+        var user = new User("ivanov123@mail.ru");
+        user.setId(1L);
+        user.setRole(Role.ROLE_ADMIN);
+        jwt = provider.buildAccessJwt(user);
+    }
+
+    @Test
+    @DisplayName("Test cached token gives a new authentication on every call")
+    void testCachedTokenGivesNewAuthentication() {
+        var first = provider.getJwtAuthentication(jwt).orElseThrow();
+        first.setAuthenticated(false);
+
+        var second = provider.getJwtAuthentication(jwt).orElseThrow();
+
+        assertNotSame(first, second);
+        assertTrue(second.isAuthenticated());
+        assertEquals(1L, second.getId());
+        assertEquals("ivanov123@mail.ru", second.getEmail());
+        assertEquals("ROLE_ADMIN", second.getRole());
+    }
+
+    @Test
+    @DisplayName("Test invalid token gives no authentication")
+    void testInvalidTokenGivesNoAuthentication() {
+        assertTrue(provider.getJwtAuthentication(jwt + "x").isEmpty());
+    }
+
+}
@@ -0,0 +1,116 @@
+package rga.task.management.system.example.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import rga.task.management.system.example.entities.User;
+import rga.task.management.system.example.enums.Role;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of JwtFilter: the former filter (key and parser rebuilt, token parsed twice per request)
+ * against the current one without and with verified tokens cache.
+ * It is not a part of the test suite: run its main method (or org.openjdk.jmh.Main) on the test classpath
+ * after mvn test-compile
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "mysecret46e5g4w64g64gr5g4ggihihihiojhkjkldwhhihyihojwfnlkn787wcHHhfhbfhf888";
+
+    private JwtFilter uncachedFilter;
+    private JwtFilter cachedFilter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        uncachedFilter = new JwtFilter(provider(false));
+        cachedFilter = new JwtFilter(provider(true));
+
+        var user = new User("ivanov123@mail.ru");
+        user.setId(1L);
+        user.setRole(Role.ROLE_ADMIN);
+        request = new MockHttpServletRequest("GET", "/rest/v1/tasks/1");
+        request.addHeader("Authorization", "Bearer " + provider(false).buildAccessJwt(user));
+    }
+
+    private JwtAccessProvider provider(boolean cacheEnabled) {
+        var provider = new JwtAccessProvider();
+        ReflectionTestUtils.setField(provider, "accessSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "expirationTime", "7200");
+        ReflectionTestUtils.setField(provider, "cacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(provider, "cacheMaximumSize", 10_000L);
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public Object formerFilter() throws Exception {
+        var jwt = request.getHeader("Authorization").substring("Bearer ".length());
+        // validateJwt(jwt): key and parser are built, token is parsed and verified
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt);
+        // getJwtClaims(jwt): the same once again
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+        var authentication = CustomAuthentication.builder()
+                .id(Long.valueOf(claims.getSubject()))
+                .email(claims.get("email", String.class))
+                .role(claims.get("role", String.class))
+                .isAuthenticated(true)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return filter(null);
+    }
+
+    @Benchmark
+    public Object uncachedFilter() throws Exception {
+        return filter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object cachedFilter() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    private Object filter(JwtFilter filter) throws Exception {
+        FilterChain chain = new MockFilterChain();
+        if (filter != null) {
+            request.removeAttribute(filter.getClass().getName() + ".FILTERED");
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,81 @@
+package rga.task.management.system.example.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.UserAuthRequestDto;
+import rga.task.management.system.example.exceptions.UserAlreadyExistentException;
+import rga.task.management.system.example.services.common.EmailFilterService;
+import rga.task.management.system.example.services.common.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:email_filter_db",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "users.email-filter.expected-insertions=1000",
+        "users.email-filter.false-positive-probability=0.01"
+})
+@DisplayName("Test e-mail filter:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest
+class EmailFilterServiceTest {
+
+    private final EmailFilterService emailFilter;
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Test registered e-mails are found and unknown ones are checked without database")
+    void testExistsByEmail() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertTrue(userService.existsByEmail("ivanov123@mail.ru"));
+        assertTrue(userService.existsByEmail("si78dorov@mail.ru"));
+
+        statistics.clear();
+        assertFalse(userService.existsByEmail("unknown@mail.ru"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        userService.create(new UserAuthRequestDto("filtered@mail.ru", "passwordUSER"));
+        assertTrue(emailFilter.mightExist("filtered@mail.ru"));
+        assertTrue(userService.existsByEmail("filtered@mail.ru"));
+        assertTrue(meterRegistry.get("users.email.filter.checks").tag("result", "present").counter().count() >= 3);
+    }
+
+    @Test
+    @DisplayName("Test already existent e-mail is rejected by unique constraint")
+    void testCreateWithExistentEmail() {
+        var dto = new UserAuthRequestDto("pet89rov@mail.ru", "passwordUSER");
+
+        assertThrows(UserAlreadyExistentException.class, () -> userService.create(dto));
+    }
+
+    @Test
+    @DisplayName("Test false positive rate stays close to configured probability")
+    void testFalsePositiveRate() {
+        for (int i = 0; i < 1000; i++) {
+            emailFilter.add("registered" + i + "@mail.ru");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (emailFilter.mightExist("probe" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+        assertTrue(meterRegistry.get("users.email.filter.false.positive.rate").gauge().value() < 0.03);
+        assertTrue(meterRegistry.get("users.email.filter.size").gauge().value() >= 1003);
+    }
+
+}
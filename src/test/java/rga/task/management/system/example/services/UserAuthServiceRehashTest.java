@@ -0,0 +1,74 @@
+package rga.task.management.system.example.services;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import rga.task.management.system.example.dtos.UserAuthRequestDto;
+import rga.task.management.system.example.repositories.UserRepository;
+import rga.task.management.system.example.security.AdaptiveBCryptPasswordEncoder;
+import rga.task.management.system.example.services.auth.UserAuthService;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_rehash_db",
+        "auth.password-hashing.strength=4"
+})
+@DisplayName("Test UserAuthService password hashing:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest
+class UserAuthServiceRehashTest {
+
+    private static final String TARGET_HASH_PREFIX = "{bcrypt}$2a$04$";
+
+    private final UserAuthService userAuthService;
+    private final UserRepository userRepository;
+
+    @Test
+    @DisplayName("Test seed password hash of other cost is rehashed with target cost on successful login")
+    void testPasswordIsRehashedOnLogin() {
+        assertTrue(userRepository.findByEmail("pet89rov@mail.ru").orElseThrow().getPassword().startsWith("$2a$12$"));
+
+        assertNotNull(userAuthService.authenticate(new UserAuthRequestDto("pet89rov@mail.ru", "passwordUSER")).join().getJwt());
+        var rehashed = userRepository.findByEmail("pet89rov@mail.ru").orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith(TARGET_HASH_PREFIX));
+
+        assertNotNull(userAuthService.authenticate(new UserAuthRequestDto("pet89rov@mail.ru", "passwordUSER")).join().getJwt());
+        assertEquals(rehashed, userRepository.findByEmail("pet89rov@mail.ru").orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("Test registered user's password is stored hashed and the user can log in")
+    void testRegisteredUserCanLogin() {
+        userAuthService.register(new UserAuthRequestDto("rehash@mail.ru", "passwordREHASH"));
+
+        assertTrue(userRepository.findByEmail("rehash@mail.ru").orElseThrow().getPassword().startsWith(TARGET_HASH_PREFIX));
+        assertNotNull(userAuthService.authenticate(new UserAuthRequestDto("rehash@mail.ru", "passwordREHASH")).join().getJwt());
+    }
+
+    @Test
+    @DisplayName("Test hash of any cost other than target one is outdated")
+    void testUpgradeEncoding() {
+        var encoder = new AdaptiveBCryptPasswordEncoder(10);
+
+        assertTrue(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(4).encode("password")));
+        assertTrue(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(11).encode("password")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+        assertFalse(encoder.upgradeEncoding("not a bcrypt hash"));
+    }
+
+    @Test
+    @DisplayName("Test calibrated cost stays within bounds")
+    void testCalibrateStrength() {
+        assertEquals(4, AdaptiveBCryptPasswordEncoder.calibrateStrength(Duration.ZERO, 4, 6));
+        assertEquals(6, AdaptiveBCryptPasswordEncoder.calibrateStrength(Duration.ofMinutes(1), 4, 6));
+    }
+
+}
@@ -0,0 +1,86 @@
+package rga.task.management.system.example.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import rga.task.management.system.example.configs.CacheConfig;
+import rga.task.management.system.example.dtos.UserAuthRequestDto;
+import rga.task.management.system.example.exceptions.NotFoundException;
+import rga.task.management.system.example.services.common.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@TestPropertySource(locations = "/application-test.yml", properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_cache_db",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Test UserService cache:")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@SpringBootTest
+class UserServiceCacheTest {
+
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Test repeated user resolution does not hit database")
+    void testRepeatedGetDoesNotHitDatabase() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var user = userService.getByEmail("pet89rov@mail.ru");
+        userService.getById(user.getId());
+
+        statistics.clear();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(user.getId(), userService.getByEmail("pet89rov@mail.ru").getId());
+            assertEquals("pet89rov@mail.ru", userService.getById(user.getId()).getEmail());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(cacheHits(CacheConfig.USERS_BY_EMAIL) >= 10);
+        assertTrue(cacheHits(CacheConfig.USERS_BY_ID) >= 10);
+    }
+
+    @Test
+    @DisplayName("Test created user is put into cache")
+    void testCreatedUserIsCached() {
+        var created = userService.create(new UserAuthRequestDto("cached@mail.ru", "passwordUSER"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        assertEquals(created.getId(), userService.getByEmail("cached@mail.ru").getId());
+        assertEquals("cached@mail.ru", userService.getById(created.getId()).getEmail());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Test user created within rolled back outer transaction is not cached")
+    void testRolledBackUserIsNotCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.create(new UserAuthRequestDto("rolledback@mail.ru", "passwordROLLEDBACK"));
+            status.setRollbackOnly();
+        });
+
+        assertThrows(NotFoundException.class, () -> userService.getByEmail("rolledback@mail.ru"));
+    }
+
+    private double cacheHits(String cacheName) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}